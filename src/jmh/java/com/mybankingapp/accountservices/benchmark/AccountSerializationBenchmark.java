@@ -0,0 +1,65 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of {@link Account} with the same ObjectMapper defaults Spring Boot uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Account account;
+
+    private Money balance;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        account = Account.builder()
+                .id(UUID.randomUUID())
+                .accountNumber("1000000018")
+                .accountType("savings")
+                .balance(Money.of(new BigDecimal("152340.75")))
+                .createdAt(LocalDateTime.of(2025, 6, 1, 10, 30))
+                .active(true)
+                .customerId(UUID.randomUUID())
+                .build();
+        balance = account.getBalance();
+    }
+
+    @Benchmark
+    public byte[] serializeAccount() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] serializeBalance() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(balance);
+    }
+}
@@ -0,0 +1,94 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import com.mybankingapp.accountservices.service.AccountLoader;
+import com.mybankingapp.accountservices.service.AccountService;
+import com.mybankingapp.accountservices.service.BlockAccountNumberAllocator;
+import com.mybankingapp.accountservices.service.RandomAccountNumberAllocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks account creation and account number allocation against in-memory repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+
+    private final Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+
+    private AccountService accountService;
+
+    private RandomAccountNumberAllocator randomAllocator;
+
+    private BlockAccountNumberAllocator blockAllocator;
+
+    private AccountCreationRequest request;
+
+    @Setup
+    public void setUp() {
+        AccountRepository accountRepository = InMemoryRepositories.accountRepository(accounts, accountNumbers);
+        randomAllocator = new RandomAccountNumberAllocator(accountRepository, new SimpleMeterRegistry());
+        blockAllocator = new BlockAccountNumberAllocator(accountRepository, new SimpleMeterRegistry(), 1000);
+        accountService = new AccountService(accountRepository, blockAllocator, new NoOpCacheManager(),
+                new AccountLoader(accountRepository, InMemoryRepositories.noOpTransactionManager(), new SimpleMeterRegistry(),
+                        Duration.ofMillis(2), 100));
+
+        request = new AccountCreationRequest();
+        request.setAccountType("savings");
+        request.setInitialDeposit(new BigDecimal("1500.00"));
+        request.setCustomerId(UUID.randomUUID());
+    }
+
+    /**
+     * Keeps the in-memory table and its account number index from growing across iterations, so every
+     * iteration measures the same state.
+     */
+    @Setup(Level.Iteration)
+    public void clearAccounts() {
+        accounts.clear();
+        accountNumbers.clear();
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        return accountService.createAccount(request);
+    }
+
+    @Benchmark
+    public String randomAccountNumber() {
+        return randomAllocator.nextAccountNumber();
+    }
+
+    @Benchmark
+    public String blockAccountNumber() {
+        return blockAllocator.nextAccountNumber();
+    }
+}
@@ -0,0 +1,92 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.mybankingapp.accountservices.config.ApiKeyFilter;
+import com.mybankingapp.accountservices.config.ApiKeyStore;
+import com.mybankingapp.accountservices.utils.SendUnauthorizedResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the API key filter on the accepted and rejected paths, and the unauthorized response writer.
+ * The key store holds {@link #CLIENT_KEYS} client keys besides the benchmarked one.
+ * A fresh mock response is created per invocation, since the filter writes into it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiKeyFilterBenchmark {
+
+    private static final String API_KEY = "benchmark-api-key";
+
+    private static final int CLIENT_KEYS = 1_000;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private final ApiKeyFilter apiKeyFilter = new ApiKeyFilter();
+
+    private final SendUnauthorizedResponse sendUnauthorizedResponse = new SendUnauthorizedResponse();
+
+    private MockHttpServletRequest validRequest;
+
+    private MockHttpServletRequest rejectedRequest;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> keyHashes = new HashMap<>();
+        for (int i = 0; i < CLIENT_KEYS; i++) {
+            keyHashes.put(ApiKeyStore.hash("client-key-" + i), "client-" + i);
+        }
+        ApiKeyStore apiKeyStore = new ApiKeyStore(() -> keyHashes, API_KEY);
+        apiKeyStore.refresh();
+        ReflectionTestUtils.setField(apiKeyFilter, "apiKeyStore", apiKeyStore);
+
+        validRequest = new MockHttpServletRequest("GET", "/api/v1/accounts/3f2c1a9e-8d7b-4c6a-9e5f-1a2b3c4d5e6f/balance");
+        validRequest.addHeader("x-api-key", API_KEY);
+
+        rejectedRequest = new MockHttpServletRequest("GET", "/api/v1/accounts/3f2c1a9e-8d7b-4c6a-9e5f-1a2b3c4d5e6f/balance");
+        rejectedRequest.addHeader("x-api-key", "wrong-api-key");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validKey() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        apiKeyFilter.doFilter(validRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rejectedKey() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        apiKeyFilter.doFilter(rejectedRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse sendUnauthorizedResponse() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sendUnauthorizedResponse.sendUnauthorizedResponse(response, "Unauthorized: Invalid API key");
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map-backed stand-ins for the JPA repositories, so benchmarks measure the service code and not the database.
+ * Only the methods used by the benchmarked code paths are implemented.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    /**
+     * Both collections are owned by the caller, which must clear them together to reset the table.
+     */
+    static AccountRepository accountRepository(Map<UUID, Account> accounts, Set<String> accountNumbers) {
+        AtomicLong sequence = new AtomicLong(100_000_000L);
+        return (AccountRepository) Proxy.newProxyInstance(
+                AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        Account account = (Account) args[0];
+                        if (account.getId() == null) {
+                            account.setId(UUID.randomUUID());
+                        }
+                        accounts.put(account.getId(), account);
+                        accountNumbers.add(account.getAccountNumber());
+                        yield account;
+                    }
+                    case "existsByAccountNumber" -> accountNumbers.contains((String) args[0]);
+                    case "nextAccountNumberBlock" -> sequence.getAndAdd(1000);
+                    case "findByIdAndActiveTrue" -> Optional.ofNullable(accounts.get((UUID) args[0]))
+                            .filter(Account::isActive);
+                    case "findBalanceByIdAndActiveTrue" -> Optional.ofNullable(accounts.get((UUID) args[0]))
+                            .filter(Account::isActive)
+                            .map(Account::getBalance);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryAccountRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static PlatformTransactionManager noOpTransactionManager() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+}
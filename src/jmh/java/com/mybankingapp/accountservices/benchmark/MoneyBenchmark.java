@@ -0,0 +1,116 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybankingapp.accountservices.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Money} with the {@link BigDecimal} balances it replaced, on the steps of the read and
+ * mutation paths that work on a balance already loaded: the entity tag and JSON body of a cached balance, and
+ * a withdrawal that folds the balance stripes of the account. The allocations per operation are the
+ * {@code gc.alloc.rate.norm} of the GC profiler, which the {@code jmh} profile enables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int STRIPES = 8;
+
+    private ObjectMapper objectMapper;
+
+    private BigDecimal decimalBalance;
+
+    private BigDecimal decimalWithdrawal;
+
+    private BigDecimal[] decimalStripes;
+
+    private Money balance;
+
+    private Money withdrawal;
+
+    private Money[] stripes;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        decimalBalance = new BigDecimal("152340.70");
+        decimalWithdrawal = new BigDecimal("152350.25");
+        decimalStripes = new BigDecimal[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            decimalStripes[i] = new BigDecimal("12.5" + i);
+        }
+        balance = Money.of(decimalBalance);
+        withdrawal = Money.of(decimalWithdrawal);
+        stripes = new Money[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = Money.of(decimalStripes[i]);
+        }
+    }
+
+    @Benchmark
+    public String balanceTagBigDecimal() {
+        return decimalBalance.stripTrailingZeros().toPlainString();
+    }
+
+    @Benchmark
+    public String balanceTagMoney() {
+        return balance.toStrippedString();
+    }
+
+    @Benchmark
+    public byte[] serializeBalanceBigDecimal() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(decimalBalance);
+    }
+
+    @Benchmark
+    public byte[] serializeBalanceMoney() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(balance);
+    }
+
+    /**
+     * The arithmetic of {@code AccountBalanceService} for a withdrawal the account row does not cover.
+     */
+    @Benchmark
+    public BigDecimal withdrawWithStripesBigDecimal() {
+        BigDecimal result = decimalBalance.add(decimalWithdrawal.negate());
+        if (result.signum() < 0) {
+            BigDecimal folded = BigDecimal.ZERO;
+            for (BigDecimal stripe : decimalStripes) {
+                folded = folded.add(stripe);
+            }
+            result = result.add(folded);
+        }
+        return result.signum() < 0 ? null : result;
+    }
+
+    @Benchmark
+    public Money withdrawWithStripesMoney() {
+        Money result = balance.plus(withdrawal.negate());
+        if (result.signum() < 0) {
+            long folded = 0;
+            for (Money stripe : stripes) {
+                folded = Math.addExact(folded, stripe.minorUnits());
+            }
+            result = result.plus(Money.ofMinorUnits(folded));
+        }
+        return result.signum() < 0 ? null : result;
+    }
+}
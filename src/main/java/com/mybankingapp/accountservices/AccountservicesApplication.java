@@ -1,10 +1,26 @@
 package com.mybankingapp.accountservices;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import lombok.extern.slf4j.Slf4j;
 
-@SpringBootApplication
+/**
+ * Servlet and JPA application. The WebFlux and R2DBC variant built with the {@code reactive} Maven profile
+ * lives in the {@code reactive} package, which is left out of the component scan; R2DBC, present on the
+ * classpath of that profile, is not configured here.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = R2dbcAutoConfiguration.class)
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.mybankingapp\\.accountservices\\.reactive\\..*")})
 @Slf4j
 public class AccountservicesApplication {
 
@@ -0,0 +1,55 @@
+package com.mybankingapp.accountservices.config;
+
+import com.mybankingapp.accountservices.dto.AccountImportResult;
+import com.mybankingapp.accountservices.service.AccountImportJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the {@link AccountImportJob} on startup when {@code account.import.file} is set, e.g.
+ * {@code java -jar app.jar --account.import.file=/data/accounts.csv}.
+ *
+ * <p>Unless {@code account.import.exit-on-completion} is {@code false}, the application exits once the
+ * import is done, with status 1 if any chunk failed, so the run can be scripted and repeated.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("account.import.file")
+public class AccountImportRunner implements ApplicationRunner {
+
+    private final AccountImportJob accountImportJob;
+
+    private final ConfigurableApplicationContext context;
+
+    private final Path file;
+
+    private final boolean exitOnCompletion;
+
+    public AccountImportRunner(AccountImportJob accountImportJob,
+                               ConfigurableApplicationContext context,
+                               @Value("${account.import.file}") Path file,
+                               @Value("${account.import.exit-on-completion:true}") boolean exitOnCompletion) {
+        this.accountImportJob = accountImportJob;
+        this.context = context;
+        this.file = file;
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        AccountImportResult result = accountImportJob.run(file);
+        if (exitOnCompletion) {
+            int exitCode = result.getFailedChunks() > 0 ? 1 : 0;
+            log.info("Importación terminada, cerrando la aplicación con código {}", exitCode);
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.mybankingapp.accountservices.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit adjusted with additive-increase/multiplicative-decrease (AIMD) from the observed latency.
+ *
+ * <p>A request completing within the latency threshold while at least half of the limit is in use raises
+ * the limit by one. A request that exceeds the threshold multiplies the limit by the backoff ratio, at most
+ * once per limit-sized batch of completions: the requests in flight when the limit drops were admitted under
+ * the old limit, so their latency is one congestion signal, not one each. When the database slows down, the
+ * limit therefore shrinks towards the concurrency it can actually serve, and excess requests are rejected
+ * instead of queueing for a connection.</p>
+ *
+ * <p>Errors are not a signal on their own: a database that times out also exceeds the threshold, while a
+ * fast 500, such as an unknown account, says nothing about load.</p>
+ *
+ * <p>All state is kept in atomics, so neither acquiring nor releasing a permit blocks.</p>
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger limit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong completions = new AtomicLong();
+
+    /**
+     * Number of completions from which a slow request may lower the limit again.
+     */
+    private final AtomicLong nextDecreaseAt = new AtomicLong();
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Concurrency limit backoff ratio must be between 0 and 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    /**
+     * Takes a permit if fewer requests than the current limit are in flight.
+     *
+     * @return {@code true} if the permit was taken and {@link #release} must be called
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit and adjusts the limit from the latency of the request.
+     *
+     * @param latencyNanos time the request held the permit
+     */
+    public void release(long latencyNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        long completion = completions.incrementAndGet();
+        if (latencyNanos > latencyThresholdNanos) {
+            long decreaseAt = nextDecreaseAt.get();
+            // Skips the completions of the requests admitted before this decrease, at most the current limit.
+            if (completion >= decreaseAt && nextDecreaseAt.compareAndSet(decreaseAt, completion + limit.get())) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightAtCompletion * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -1,12 +1,16 @@
 package com.mybankingapp.accountservices.config;
 
 import com.mybankingapp.accountservices.utils.SendUnauthorizedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -30,10 +34,34 @@ public class ApiKeyFilter extends OncePerRequestFilter {
     private static final String API_KEY_HEADER = "x-api-key";
 
     /**
-     * The expected API key value, injected from the application properties.
+     * Name of the request attribute holding the id of the client that owns the presented API key.
      */
-    @Value("${api.key}")
-    private String apikey;
+    public static final String CLIENT_ID_ATTRIBUTE = "apiKeyClientId";
+
+    /**
+     * Store holding the accepted API keys.
+     */
+    @Autowired
+    private ApiKeyStore apiKeyStore;
+
+    /**
+     * Registry where rejected requests are counted, injected when metrics are available.
+     */
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Returns the client of the request handled by the current thread.
+     *
+     * @return the client id, or {@code null} outside a request or when the request has no valid API key
+     */
+    public static String currentClientId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (String) attributes.getAttribute(CLIENT_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
 
     /**
      * Filters incoming requests to check for a valid API key.
@@ -51,26 +79,34 @@ public class ApiKeyFilter extends OncePerRequestFilter {
         String apiKeyHeader = request.getHeader(API_KEY_HEADER);
 
 
-        log.info(">>> Validando API key para la solicitud {}", request.getRequestURI());
+        log.debug(">>> Validando API key para la solicitud {}", request.getRequestURI());
 
-        if (apiKeyHeader == null || apikey == null) {
+        if (apiKeyHeader == null) {
+            countRejection("missing");
             sendUnauthorizedResponse.sendUnauthorizedResponse(response,
                     "Unauthorized: No API key found in request headers");
 
             return;
         }
 
-        if (!apikey.equals(apiKeyHeader)) {
+        String clientId = apiKeyStore.findClientId(apiKeyHeader);
+        if (clientId == null) {
             log.warn("<<< API key inválida");
+            countRejection("invalid");
             sendUnauthorizedResponse.sendUnauthorizedResponse(response, "Unauthorized: Invalid API key");
 
             return;
         }
 
-        log.info("<<< API key válida, continuando con la cadena de filtros");
+        log.debug("<<< API key válida del cliente {}, continuando con la cadena de filtros", clientId);
+        request.setAttribute(CLIENT_ID_ATTRIBUTE, clientId);
         filterChain.doFilter(request, response);
     }
 
+    private void countRejection(String reason) {
+        meterRegistry.counter("api.key.rejections", "reason", reason).increment();
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -0,0 +1,17 @@
+package com.mybankingapp.accountservices.config;
+
+import java.util.Map;
+
+/**
+ * Source of the API keys accepted by {@link ApiKeyFilter}. Implementations are read periodically
+ * by {@link ApiKeyStore} and never on the request path.
+ */
+public interface ApiKeySource {
+
+    /**
+     * Loads the currently valid keys.
+     *
+     * @return the hex-encoded SHA-256 hash of every valid key, mapped to the client it belongs to
+     */
+    Map<String, String> loadKeyHashes();
+}
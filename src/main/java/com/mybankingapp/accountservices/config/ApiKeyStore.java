@@ -0,0 +1,152 @@
+package com.mybankingapp.accountservices.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * In-memory view of the accepted API keys, loaded from the configured {@link ApiKeySource}
+ * and refreshed in the background, so keys can be added or revoked without a restart.
+ *
+ * <p>Keys are kept as SHA-256 hashes. A lookup hashes the presented key once and finds the client
+ * in a map keyed by that hash, comparing hashes with {@link MessageDigest#isEqual}; neither the
+ * source nor a deliberately slow hash is involved per request. A fast unsalted hash is adequate
+ * here because API keys are long random tokens rather than passwords.</p>
+ *
+ * <p>The single key configured through {@code api.key}, if any, is always accepted for the
+ * client {@value #DEFAULT_CLIENT_ID}.</p>
+ */
+@Slf4j
+@Component
+public class ApiKeyStore {
+
+    /**
+     * Client id assigned to the key configured through {@code api.key}.
+     */
+    public static final String DEFAULT_CLIENT_ID = "default";
+
+    private static final int SHA_256_LENGTH = 32;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ApiKeySource source;
+
+    private final Map<KeyHash, String> configuredKeys;
+
+    private volatile Map<KeyHash, String> clientsByKeyHash;
+
+    public ApiKeyStore(ApiKeySource source, @Value("${api.key:}") String configuredKey) {
+        this.source = source;
+        this.configuredKeys = configuredKey.isEmpty()
+                ? Map.of()
+                : Map.of(new KeyHash(sha256(configuredKey)), DEFAULT_CLIENT_ID);
+        this.clientsByKeyHash = configuredKeys;
+    }
+
+    /**
+     * Finds the client that owns the given key.
+     *
+     * @param apiKey the key presented by the caller
+     * @return the client id, or {@code null} if the key is not valid
+     */
+    public String findClientId(String apiKey) {
+        return clientsByKeyHash.get(new KeyHash(sha256(apiKey)));
+    }
+
+    /**
+     * Number of keys currently accepted.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return clientsByKeyHash.size();
+    }
+
+    /**
+     * Reloads the keys from the source. If the source fails, the keys loaded previously stay in use.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${api.keys.refresh-interval:PT1M}",
+            initialDelayString = "${api.keys.refresh-interval:PT1M}")
+    public void refresh() {
+        Map<KeyHash, String> loaded = new HashMap<>(configuredKeys);
+        try {
+            source.loadKeyHashes().forEach((keyHash, clientId) -> {
+                byte[] hash = parseHash(keyHash);
+                if (hash == null) {
+                    log.warn("Hash de API key inválido ignorado para el cliente {}", clientId);
+                } else {
+                    loaded.put(new KeyHash(hash), clientId);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.error("No se pudieron recargar las API keys, se mantienen las {} actuales", size(), ex);
+            return;
+        }
+
+        int previous = size();
+        clientsByKeyHash = Map.copyOf(loaded);
+        if (previous != loaded.size()) {
+            log.info("API keys cargadas: {}", loaded.size());
+        }
+    }
+
+    /**
+     * Hashes a key the way it must be stored in an {@link ApiKeySource}.
+     *
+     * @param apiKey the plain key
+     * @return the hex-encoded SHA-256 hash of the key
+     */
+    public static String hash(String apiKey) {
+        return HEX.formatHex(sha256(apiKey));
+    }
+
+    private static byte[] parseHash(String keyHash) {
+        try {
+            byte[] hash = HEX.parseHex(keyHash.strip().toLowerCase());
+            return hash.length == SHA_256_LENGTH ? hash : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Map key wrapping a SHA-256 hash; equality is checked in constant time.
+     */
+    private static final class KeyHash {
+        private final byte[] value;
+        private final int hashCode;
+
+        private KeyHash(byte[] value) {
+            this.value = value;
+            this.hashCode = (value[0] & 0xff) << 24 | (value[1] & 0xff) << 16 | (value[2] & 0xff) << 8 | (value[3] & 0xff);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof KeyHash key && MessageDigest.isEqual(value, key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.mybankingapp.accountservices.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Configuration class for the in-process account caches.
+ * The caches themselves are built by Spring Boot from the {@code spring.cache.caffeine.spec}
+ * property, which defines the maximum size, the TTL and enables statistics recording.
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+@EnableScheduling
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    /**
+     * Cache holding active accounts by ID.
+     */
+    public static final String ACCOUNTS_CACHE = "accounts";
+
+    /**
+     * Cache holding balances of active accounts by ID.
+     */
+    public static final String BALANCES_CACHE = "balances";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Periodically logs hit, miss and eviction statistics of every Caffeine cache,
+     * so the cache size and TTL can be tuned against real traffic.
+     */
+    @Scheduled(fixedDelayString = "${account.cache.stats-interval:PT5M}",
+            initialDelayString = "${account.cache.stats-interval:PT5M}")
+    public void logCacheStats() {
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                log.info("Estadísticas de caché {}: size={}, hits={}, misses={}, hitRate={}, evictions={}",
+                        name, cache.getNativeCache().estimatedSize(), stats.hitCount(), stats.missCount(),
+                        String.format("%.3f", stats.hitRate()), stats.evictionCount());
+            }
+        }
+    }
+}
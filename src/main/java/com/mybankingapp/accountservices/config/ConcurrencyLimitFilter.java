@@ -0,0 +1,155 @@
+package com.mybankingapp.accountservices.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Filter that sheds load once the number of in-flight API requests reaches an {@link AdaptiveConcurrencyLimit}.
+ * Reads ({@code GET} and {@code HEAD}, plus the bulk balance lookup, which is a {@code POST} only to carry its
+ * ids in the body) and writes, such as {@code /register}, have separate limits, so a burst of account creations
+ * cannot starve balance lookups and vice versa.
+ *
+ * <p>Rejected requests get a 503 with a {@code Retry-After} header and a body encoded once at startup.</p>
+ *
+ * <p>Exports are not limited here: they stream for as long as the client reads, which the limit would take
+ * for a slow database. The export service caps them with its own fixed limit.</p>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String EXPORT_PATH = "/api/v1/accounts/export";
+
+    private static final String BALANCES_PATH = "/api/v1/accounts/balances";
+
+    private static final byte[] OVERLOADED_BODY =
+            "{\"message\":\"Service overloaded, retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Value("${api.concurrency.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${api.concurrency.read.initial-limit:50}")
+    private int readInitialLimit = 50;
+
+    @Value("${api.concurrency.read.min-limit:10}")
+    private int readMinLimit = 10;
+
+    @Value("${api.concurrency.read.max-limit:400}")
+    private int readMaxLimit = 400;
+
+    @Value("${api.concurrency.read.latency-threshold:PT0.2S}")
+    private Duration readLatencyThreshold = Duration.ofMillis(200);
+
+    @Value("${api.concurrency.write.initial-limit:20}")
+    private int writeInitialLimit = 20;
+
+    @Value("${api.concurrency.write.min-limit:5}")
+    private int writeMinLimit = 5;
+
+    @Value("${api.concurrency.write.max-limit:100}")
+    private int writeMaxLimit = 100;
+
+    @Value("${api.concurrency.write.latency-threshold:PT0.5S}")
+    private Duration writeLatencyThreshold = Duration.ofMillis(500);
+
+    @Value("${api.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio = 0.9;
+
+    @Value("${api.concurrency.retry-after-seconds:1}")
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Registry where limits, in-flight requests and rejections are published, injected when metrics are available.
+     */
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private AdaptiveConcurrencyLimit readLimit;
+
+    private AdaptiveConcurrencyLimit writeLimit;
+
+    private String retryAfter;
+
+    /**
+     * Builds the limits once the configuration has been injected. Runs only once, although the filter
+     * is initialized both as a bean and by the servlet container.
+     */
+    @Override
+    protected void initFilterBean() {
+        if (readLimit != null) {
+            return;
+        }
+        readLimit = register(new AdaptiveConcurrencyLimit("read", readInitialLimit, readMinLimit, readMaxLimit,
+                readLatencyThreshold.toNanos(), backoffRatio));
+        writeLimit = register(new AdaptiveConcurrencyLimit("write", writeInitialLimit, writeMinLimit, writeMaxLimit,
+                writeLatencyThreshold.toNanos(), backoffRatio));
+        retryAfter = Integer.toString(retryAfterSeconds);
+    }
+
+    private AdaptiveConcurrencyLimit register(AdaptiveConcurrencyLimit limit) {
+        Tags tags = Tags.of("limiter", limit.getName());
+        meterRegistry.gauge("api.concurrency.limit", tags, limit, AdaptiveConcurrencyLimit::getLimit);
+        meterRegistry.gauge("api.concurrency.in.flight", tags, limit, AdaptiveConcurrencyLimit::getInFlight);
+        return limit;
+    }
+
+    /**
+     * Runs the request if a permit is available, otherwise rejects it with a 503.
+     *
+     * @param request the HttpServletRequest object that contains the request the client made to the servlet
+     * @param response the HttpServletResponse object that contains the response the servlet returns to the client
+     * @param filterChain the FilterChain for invoking the next filter or the resource
+     * @throws ServletException if the request could not be handled
+     * @throws IOException if an input or output error is detected when the servlet handles the request
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimit limit = isRead(request) ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            meterRegistry.counter("api.concurrency.rejections", "limiter", limit.getName()).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(OVERLOADED_BODY.length);
+        response.getOutputStream().write(OVERLOADED_BODY);
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || request.getRequestURI().equals(BALANCES_PATH);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !enabled || !uri.startsWith("/api/v1/") || uri.equals(EXPORT_PATH);
+    }
+}
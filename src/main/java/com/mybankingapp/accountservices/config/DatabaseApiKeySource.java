@@ -0,0 +1,31 @@
+package com.mybankingapp.accountservices.config;
+
+import com.mybankingapp.accountservices.model.ApiKey;
+import com.mybankingapp.accountservices.repository.ApiKeyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads the active, non-expired keys from the {@code api_key} table.
+ */
+@Component
+@ConditionalOnProperty(name = "api.keys.store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseApiKeySource implements ApiKeySource {
+
+    private final ApiKeyRepository apiKeyRepository;
+
+    @Override
+    public Map<String, String> loadKeyHashes() {
+        Map<String, String> keyHashes = new HashMap<>();
+        for (ApiKey apiKey : apiKeyRepository.findUsable(LocalDateTime.now())) {
+            keyHashes.put(apiKey.getKeyHash(), apiKey.getClientId());
+        }
+        return keyHashes;
+    }
+}
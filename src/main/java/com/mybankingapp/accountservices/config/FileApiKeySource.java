@@ -0,0 +1,52 @@
+package com.mybankingapp.accountservices.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads keys from a text file with one {@code clientId:sha256-hex} entry per line.
+ * Blank lines and lines starting with {@code #} are ignored. The file is re-read on every refresh,
+ * so keys can be rotated by editing it, e.g. a mounted secret.
+ */
+@Component
+@ConditionalOnProperty(name = "api.keys.store", havingValue = "file")
+public class FileApiKeySource implements ApiKeySource {
+
+    private final Path file;
+
+    public FileApiKeySource(@Value("${api.keys.file}") Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Map<String, String> loadKeyHashes() {
+        Map<String, String> keyHashes = new HashMap<>();
+        try {
+            int lineNumber = 0;
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                lineNumber++;
+                String entry = line.strip();
+                if (entry.isEmpty() || entry.startsWith("#")) {
+                    continue;
+                }
+                int separator = entry.lastIndexOf(':');
+                if (separator <= 0 || separator == entry.length() - 1) {
+                    throw new IllegalStateException("Invalid API key entry at " + file + ":" + lineNumber);
+                }
+                keyHashes.put(entry.substring(separator + 1).strip(), entry.substring(0, separator).strip());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read API keys from " + file, ex);
+        }
+        return keyHashes;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mybankingapp.accountservices.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Creates the beans of packages off the request path, such as the OpenAPI documentation, on first use
+ * rather than at startup. Beans on the request path stay eager, so the first requests after a cold start
+ * are not slowed down, as they would be with {@code spring.main.lazy-initialization}.
+ */
+@Slf4j
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * Property listing the package prefixes whose beans are created lazily.
+     */
+    public static final String LAZY_PACKAGES_PROPERTY = "account.startup.lazy-packages";
+
+    /**
+     * Marks as lazy every bean whose class, or whose factory bean's class, is in one of the configured packages.
+     * Declared static so it is registered before the configuration class is instantiated.
+     *
+     * @param environment the environment holding {@value #LAZY_PACKAGES_PROPERTY}
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind(LAZY_PACKAGES_PROPERTY, String[].class)
+                .map(List::of)
+                .orElse(List.of());
+        return beanFactory -> {
+            if (packages.isEmpty()) {
+                return;
+            }
+            int lazy = 0;
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                String className = definition.getBeanClassName();
+                if (className == null && definition.getFactoryBeanName() != null
+                        && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+                    className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+                }
+                if (className != null && packages.stream().anyMatch(className::startsWith)) {
+                    definition.setLazyInit(true);
+                    lazy++;
+                }
+            }
+            log.debug("Beans de inicialización diferida: {}", lazy);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.mybankingapp.accountservices.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for Micrometer metrics.
+ * HTTP, repository, cache and connection pool metrics are registered by Spring Boot Actuator;
+ * this class only enables the {@code @Timed} annotation used on the service layer.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Bean definition for TimedAspect, which records a timer for every {@code @Timed} method.
+     *
+     * @param meterRegistry the registry where timers are recorded
+     * @return a new instance of TimedAspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mybankingapp.accountservices.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class for an optional read replica, enabled by setting {@code spring.datasource.replica.jdbc-url}.
+ *
+ * <p>The primary pool is configured as usual through {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*}; the replica pool through {@code spring.datasource.replica.*}, which takes
+ * Hikari properties. Both pools are named, so their Hikari metrics are tagged {@code pool=primary} and
+ * {@code pool=replica}. The application uses a {@link ReadReplicaRoutingDataSource} over the two.</p>
+ */
+@Configuration
+@ConditionalOnExpression("!'${spring.datasource.replica.jdbc-url:}'.isEmpty()")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Bean definition for the primary connection pool, which serves writes.
+     *
+     * @param properties the {@code spring.datasource.*} properties
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Bean definition for the replica connection pool, which serves read-only transactions.
+     *
+     * @return the replica pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Bean definition for the data source used by JPA, JDBC and Flyway, routing each transaction to a pool.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @param readYourWritesWindow how long a consistency token keeps the reads of its caller on the primary
+     * @param meterRegistry the registry where routing counters are recorded
+     * @return the routing data source, fetching connections lazily
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${account.datasource.read-your-writes-window:PT5S}") Duration readYourWritesWindow,
+                                 MeterRegistry meterRegistry) {
+        ReadReplicaRoutingDataSource routing =
+                new ReadReplicaRoutingDataSource(primary, replica, readYourWritesWindow, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
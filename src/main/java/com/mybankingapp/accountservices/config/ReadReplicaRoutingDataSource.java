@@ -0,0 +1,132 @@
+package com.mybankingapp.accountservices.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Data source that hands out replica connections to read-only transactions and primary connections to
+ * everything else. It must be wrapped in a {@link LazyConnectionDataSourceProxy}, so the connection is only
+ * fetched once the transaction has been marked read-only.
+ *
+ * <p>Replicas lag behind the primary, so a caller that committed a write keeps reading from the primary for
+ * the read-your-writes window. Callers are told apart by a {@value #CONSISTENCY_TOKEN_HEADER} header rather
+ * than by API key, since one API key serves many end users: a request that commits a write gets the commit
+ * time in that response header, and requests sending it back within the window read from the primary.
+ * Later reads in the request that wrote are pinned too. Requests without a token, and background jobs,
+ * read from the replica.</p>
+ *
+ * <p>The token is only a hint for routing: a token further than the window from the current time, in either
+ * direction to allow for clock skew between instances, is ignored, so a caller can not pin itself to the
+ * primary for longer than twice the window per write.</p>
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Header carrying the time of the caller's latest write, in epoch milliseconds.
+     */
+    public static final String CONSISTENCY_TOKEN_HEADER = "Consistency-Token";
+
+    private static final String LAST_WRITE_ATTRIBUTE = ReadReplicaRoutingDataSource.class.getName() + ".lastWrite";
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final long readYourWritesWindowMillis;
+
+    private final Counter replicaReads;
+
+    private final Counter pinnedReads;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                        MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+        this.replicaReads = Counter.builder("datasource.routing.reads")
+                .tag("target", "replica")
+                .description("Read-only transactions served by the replica")
+                .register(meterRegistry);
+        this.pinnedReads = Counter.builder("datasource.routing.reads")
+                .tag("target", "primary")
+                .description("Read-only transactions kept on the primary by the read-your-writes window")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (attributes instanceof ServletRequestAttributes request && wroteRecently(request.getRequest())) {
+                pinnedReads.increment();
+                return Target.PRIMARY;
+            }
+            replicaReads.increment();
+            return Target.REPLICA;
+        }
+        if (attributes instanceof ServletRequestAttributes request
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(request);
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+
+    /**
+     * Identifies the requests whose read-only transactions are routed alike, so lookups batched together
+     * read from the same database: requests without a token share a lane, and the others are grouped by
+     * token, or by the time of their own write.
+     *
+     * @return the lane of the current request, or {@code null} outside a request or without a token
+     */
+    public static Object currentRoutingLane() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Object lastWrite = request.getAttribute(LAST_WRITE_ATTRIBUTE);
+        return lastWrite != null ? lastWrite : request.getHeader(CONSISTENCY_TOKEN_HEADER);
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        if (request.getAttribute(LAST_WRITE_ATTRIBUTE) != null) {
+            return true;
+        }
+        String token = request.getHeader(CONSISTENCY_TOKEN_HEADER);
+        if (token == null) {
+            return false;
+        }
+        try {
+            return Math.abs(System.currentTimeMillis() - Long.parseLong(token.trim())) < readYourWritesWindowMillis;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private static void recordWrite(ServletRequestAttributes attributes) {
+        long now = System.currentTimeMillis();
+        attributes.getRequest().setAttribute(LAST_WRITE_ATTRIBUTE, now);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.setHeader(CONSISTENCY_TOKEN_HEADER, Long.toString(now));
+        }
+    }
+}
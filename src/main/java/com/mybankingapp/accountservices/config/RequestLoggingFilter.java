@@ -0,0 +1,129 @@
+package com.mybankingapp.accountservices.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filter that writes a single access log line per API request, carrying the correlation id and the
+ * elapsed time, and exposes the correlation id to every other log line of the request through the MDC.
+ *
+ * <p>Successful requests are logged at INFO for a configurable fraction of requests; client and server
+ * errors, including API key rejections, are always logged.</p>
+ */
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    /**
+     * The header used to propagate the correlation id between services.
+     */
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+
+    /**
+     * The MDC key under which the correlation id is stored.
+     */
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+
+    private static final int MAX_CORRELATION_ID_LENGTH = 64;
+
+    /**
+     * Fraction of successful requests that are logged, between 0.0 and 1.0.
+     */
+    @Value("${logging.request.success-sample-rate:1.0}")
+    private double successSampleRate = 1.0;
+
+    /**
+     * Logs the request once the rest of the chain has completed.
+     *
+     * @param request the HttpServletRequest object that contains the request the client made to the servlet
+     * @param response the HttpServletResponse object that contains the response the servlet returns to the client
+     * @param filterChain the FilterChain for invoking the next filter or the resource
+     * @throws ServletException if the request could not be handled
+     * @throws IOException if an input or output error is detected when the servlet handles the request
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        String correlationId = correlationId(request.getHeader(CORRELATION_ID_HEADER));
+        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+
+        try {
+            filterChain.doFilter(request, response);
+            logCompleted(request, response.getStatus(), start);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            // The container logs the stack trace of the propagated exception; keep this line to one row.
+            log.error("method={} path={} status=500 elapsedMs={} error={}", request.getMethod(),
+                    request.getRequestURI(), elapsedMillis(start), ex.toString());
+            throw ex;
+        } finally {
+            MDC.remove(CORRELATION_ID_MDC_KEY);
+        }
+    }
+
+    private void logCompleted(HttpServletRequest request, int status, long start) {
+        if (status >= 500) {
+            log.error("method={} path={} status={} elapsedMs={}", request.getMethod(), request.getRequestURI(),
+                    status, elapsedMillis(start));
+        } else if (status >= 400) {
+            log.warn("method={} path={} status={} elapsedMs={}", request.getMethod(), request.getRequestURI(),
+                    status, elapsedMillis(start));
+        } else if (log.isInfoEnabled() && sampled()) {
+            log.info("method={} path={} status={} elapsedMs={}", request.getMethod(), request.getRequestURI(),
+                    status, elapsedMillis(start));
+        }
+    }
+
+    private boolean sampled() {
+        return successSampleRate >= 1.0
+                || (successSampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Reuses the caller's correlation id when it is a short token of letters, digits, '-', '_' or '.',
+     * so it cannot inject content into the log line, otherwise generates one.
+     * Generated ids come from {@link ThreadLocalRandom} rather than {@code UUID.randomUUID()}, which would
+     * draw from a shared {@code SecureRandom} on every request.
+     */
+    private static String correlationId(String header) {
+        if (isValidCorrelationId(header)) {
+            return header;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+    }
+
+    private static boolean isValidCorrelationId(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_CORRELATION_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '-' && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+
+        return !path.startsWith("/api/v1/");
+    }
+}
@@ -33,6 +33,26 @@ public class SecurityConfig {
         return new ApiKeyFilter();
     }
 
+    /**
+     * Bean definition for RequestLoggingFilter.
+     *
+     * @return a new instance of RequestLoggingFilter
+     */
+    @Bean
+    public RequestLoggingFilter requestLoggingFilter() {
+        return new RequestLoggingFilter();
+    }
+
+    /**
+     * Bean definition for ConcurrencyLimitFilter.
+     *
+     * @return a new instance of ConcurrencyLimitFilter
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter() {
+        return new ConcurrencyLimitFilter();
+    }
+
     /**
      * Configures the security filter chain.
      *
@@ -50,8 +70,11 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/accounts/**").permitAll()
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/**").permitAll()
                         .anyRequest().authenticated())
-                .addFilterBefore(apiKeyFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(apiKeyFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(requestLoggingFilter(), ApiKeyFilter.class)
+                .addFilterAfter(concurrencyLimitFilter(), ApiKeyFilter.class);
 
         return http.build();
     }
@@ -76,7 +99,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://learning-apibank.cloud", "http://localhost:8083"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
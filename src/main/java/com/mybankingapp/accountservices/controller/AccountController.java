@@ -1,16 +1,36 @@
 package com.mybankingapp.accountservices.controller;
 
+import com.mybankingapp.accountservices.config.ApiKeyFilter;
 import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.AccountExportFilter;
+import com.mybankingapp.accountservices.dto.AccountPage;
+import com.mybankingapp.accountservices.dto.BalanceLookupResult;
+import com.mybankingapp.accountservices.dto.BalanceMutationRequest;
+import com.mybankingapp.accountservices.dto.BatchAccountResult;
+import com.mybankingapp.accountservices.dto.TransferRequest;
+import com.mybankingapp.accountservices.dto.TransferResult;
 import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.service.AccountBalanceService;
+import com.mybankingapp.accountservices.service.AccountBatchService;
+import com.mybankingapp.accountservices.service.AccountExportService;
 import com.mybankingapp.accountservices.service.AccountService;
+import com.mybankingapp.accountservices.service.IdempotencyService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -23,48 +43,239 @@ import java.util.UUID;
 @Slf4j
 public class AccountController {
 
+    /**
+     * Request header with a client-chosen key that makes retries of a registration safe.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Response header telling whether the response was replayed from a previous request with the same key.
+     */
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final AccountService accountService;
 
+    private final AccountBatchService accountBatchService;
+
+    private final AccountBalanceService accountBalanceService;
+
+    private final AccountExportService accountExportService;
+
+    private final IdempotencyService idempotencyService;
+
     /**
      * Endpoint to register a new account.
+     * With an {@value #IDEMPOTENCY_KEY_HEADER} header, the account is created only once per key and client;
+     * retries get the response of the first request.
      *
      * @param request The request object containing the necessary details to create an account.
      *                Must be valid according to validation annotations.
+     * @param idempotencyKey The optional idempotency key chosen by the client.
+     * @param clientId The client authenticated by its API key.
      * @return An HTTP response with status CREATED and the created account object.
      */
     @PostMapping("/register")
-    public ResponseEntity<Account> createAccount(@Valid @RequestBody AccountCreationRequest request) {
+    public ResponseEntity<Account> createAccount(@Valid @RequestBody AccountCreationRequest request,
+                                                 @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                 @RequestAttribute(name = ApiKeyFilter.CLIENT_ID_ATTRIBUTE, required = false) String clientId) {
         log.info(">>> Solicitud de creación de cuenta recibida");
-        Account created = accountService.createAccount(request);
-        log.info("<<< Cuenta creada: {}", created.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        if (idempotencyKey == null) {
+            Account created = accountService.createAccount(request);
+            log.info("<<< Cuenta creada: {}", created.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+        IdempotencyService.Outcome<Account> outcome = idempotencyService.execute(clientId, idempotencyKey, request,
+                Account.class, () -> accountService.createAccount(request));
+        log.info("<<< Cuenta creada: {} (repetida: {})", outcome.response().getId(), outcome.replayed());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(outcome.response());
+    }
+
+    /**
+     * Endpoint to register several accounts in a single call.
+     * Each item is validated and persisted independently, so invalid or failing items
+     * do not prevent the rest of the batch from being created.
+     *
+     * @param requests The list of account creation requests.
+     * @return An HTTP response with one result per request, in the same order.
+     */
+    @PostMapping("/register/batch")
+    public ResponseEntity<List<BatchAccountResult>> createAccounts(@RequestBody List<AccountCreationRequest> requests) {
+        log.info(">>> Solicitud de creación de cuentas en lote recibida");
+        List<BatchAccountResult> results = accountBatchService.createAccounts(requests);
+        log.info("<<< Lote de {} cuentas procesado", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Endpoint to list the active accounts of a customer in creation order.
+     *
+     * @param customerId The UUID of the customer.
+     * @param cursor The {@code nextCursor} of the previous page; omitted for the first page.
+     * @param limit The maximum number of accounts in the page.
+     * @return An HTTP response with the page of accounts and the cursor of the next page, if any.
+     */
+    @GetMapping
+    public ResponseEntity<AccountPage> getAccountsByCustomer(@RequestParam UUID customerId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(accountService.getAccountsByCustomer(customerId, cursor, limit));
+    }
+
+    /**
+     * Endpoint to export accounts, optionally filtered, as newline-delimited JSON or CSV.
+     * The accounts are streamed to the response as they are read, so the export of a large table
+     * neither buffers the response nor the accounts in memory.
+     *
+     * @param format The output format, {@code ndjson} or {@code csv}.
+     * @param accountType Only accounts of this type, if given.
+     * @param active Only active or inactive accounts, if given.
+     * @param createdFrom Only accounts created at or after this time, if given.
+     * @param createdTo Only accounts created before this time, if given.
+     * @param response The response the accounts are written to.
+     * @throws IOException if writing the response fails.
+     */
+    @GetMapping("/export")
+    public void exportAccounts(@RequestParam(defaultValue = "ndjson") String format,
+                               @RequestParam(required = false) String accountType,
+                               @RequestParam(required = false) Boolean active,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+                               HttpServletResponse response) throws IOException {
+        AccountExportService.Format exportFormat;
+        try {
+            exportFormat = AccountExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Export format must be ndjson or csv");
+        }
+        AccountExportFilter filter = AccountExportFilter.builder()
+                .accountType(accountType)
+                .active(active)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+
+        boolean csv = exportFormat == AccountExportService.Format.CSV;
+        // The headers are only set once the export is admitted, so a rejection is still answered in JSON.
+        accountExportService.export(filter, exportFormat, () -> {
+            response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"accounts." + (csv ? "csv" : "ndjson") + "\"");
+            return response.getOutputStream();
+        });
     }
 
     /**
      * Endpoint to retrieve the balance of an active account.
+     * The entity tag is the account's, as in {@link #getAccount}, so it changes with every balance update.
+     * The tag is read before the balance: a concurrent update can then only pair a newer balance with an
+     * older tag, which the next conditional request refreshes, and never the reverse.
      *
      * @param id The UUID of the account whose balance is to be retrieved.
-     * @return An HTTP response with the account balance as a BigDecimal.
+     * @param webRequest The request, for its conditional headers.
+     * @return An HTTP response with the account balance, or {@code null} when not modified.
      */
     @GetMapping("/{id}/balance")
-    public ResponseEntity<BigDecimal> getBalance(@PathVariable UUID id) {
-        log.info(">>> Consultando balance para cuenta {}", id);
-        BigDecimal balance = accountService.getBalance(id);
-        log.info("<<< Balance obtenido para cuenta {}", id);
-        return ResponseEntity.ok(balance);
+    public ResponseEntity<Money> getBalance(@PathVariable UUID id, WebRequest webRequest) {
+        log.debug(">>> Consultando balance para cuenta {}", id);
+        String tag = accountService.getAccountTag(id);
+        if (webRequest.checkNotModified(tag)) {
+            log.debug("<<< Balance de la cuenta {} sin cambios", id);
+            return null;
+        }
+        Money balance = accountService.getBalance(id);
+        log.debug("<<< Balance obtenido para cuenta {}", id);
+        return ResponseEntity.ok()
+                .eTag(tag)
+                .body(balance);
+    }
+
+    /**
+     * Endpoint to retrieve the balances of several active accounts in a single call.
+     *
+     * @param ids The UUIDs of the accounts.
+     * @return An HTTP response with the balance of each active account and the ids not found.
+     */
+    @PostMapping("/balances")
+    public ResponseEntity<BalanceLookupResult> getBalances(@RequestBody List<UUID> ids) {
+        log.debug(">>> Consultando balances de {} cuentas", ids.size());
+        BalanceLookupResult result = accountService.getBalances(ids);
+        log.debug("<<< Balances obtenidos: {}, no encontradas: {}", result.getBalances().size(), result.getNotFound().size());
+        return ResponseEntity.ok(result);
     }
 
     /**
      * Endpoint to retrieve the details of an active account.
+     * The entity tag is derived from the account version. A request with {@code If-None-Match} is first
+     * checked against the current tag, which needs neither the account row nor serialization, and gets a
+     * 304 without a body when it matches.
      *
      * @param id The UUID of the account to be retrieved.
-     * @return An HTTP response with the account object.
+     * @param webRequest The request, for its conditional headers.
+     * @return An HTTP response with the account object, or {@code null} when not modified.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Account> getAccount(@PathVariable UUID id) {
-        log.info(">>> Consultando datos de la cuenta {}", id);
+    public ResponseEntity<Account> getAccount(@PathVariable UUID id, WebRequest webRequest) {
+        log.debug(">>> Consultando datos de la cuenta {}", id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(accountService.getAccountTag(id))) {
+            log.debug("<<< Cuenta {} sin cambios", id);
+            return null;
+        }
         Account account = accountService.getAccount(id);
-        log.info("<<< Cuenta {} recuperada", id);
-        return ResponseEntity.ok(account);
+        log.debug("<<< Cuenta {} recuperada", id);
+        return ResponseEntity.ok()
+                .eTag(AccountService.entityTag(account))
+                .body(account);
+    }
+
+    /**
+     * Endpoint to deposit funds into an active account.
+     *
+     * @param id The UUID of the account.
+     * @param request The request containing the amount to deposit.
+     * @return An HTTP response with the account and its updated balance.
+     */
+    @PostMapping("/{id}/deposit")
+    public ResponseEntity<Account> deposit(@PathVariable UUID id, @Valid @RequestBody BalanceMutationRequest request) {
+        return ResponseEntity.ok(accountBalanceService.deposit(id, request.getAmount()));
+    }
+
+    /**
+     * Endpoint to withdraw funds from an active account.
+     *
+     * @param id The UUID of the account.
+     * @param request The request containing the amount to withdraw.
+     * @return An HTTP response with the account and its updated balance.
+     */
+    @PostMapping("/{id}/withdraw")
+    public ResponseEntity<Account> withdraw(@PathVariable UUID id, @Valid @RequestBody BalanceMutationRequest request) {
+        return ResponseEntity.ok(accountBalanceService.withdraw(id, request.getAmount()));
+    }
+
+    /**
+     * Endpoint to split the balance of a hot account across several rows, so concurrent deposits
+     * do not contend on the account row.
+     *
+     * @param id The UUID of the account.
+     * @param count The number of balance stripes.
+     * @return An HTTP response with the updated account.
+     */
+    @PutMapping("/{id}/balance-stripes")
+    public ResponseEntity<Account> enableBalanceStripes(@PathVariable UUID id, @RequestParam int count) {
+        return ResponseEntity.ok(accountBalanceService.enableBalanceStripes(id, count));
+    }
+
+    /**
+     * Endpoint to transfer funds between two active accounts.
+     * The transfer is rejected if it would overdraw the source account.
+     *
+     * @param request The request containing the source and target accounts and the amount.
+     * @return An HTTP response with the executed transfer.
+     */
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferResult> transfer(@Valid @RequestBody TransferRequest request) {
+        return ResponseEntity.ok(accountBalanceService.transfer(
+                request.getSourceAccountId(), request.getTargetAccountId(), request.getAmount()));
     }
 }
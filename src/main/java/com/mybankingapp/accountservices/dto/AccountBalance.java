@@ -0,0 +1,31 @@
+package com.mybankingapp.accountservices.dto;
+
+import com.mybankingapp.accountservices.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The total balance of an account, including its balance stripes, read without loading the account.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalance {
+
+    private UUID id;
+
+    private Money balance;
+
+    /**
+     * Constructor for query projections, which sum the balance columns as a {@link BigDecimal}.
+     */
+    public AccountBalance(UUID id, BigDecimal balance) {
+        this(id, Money.of(balance));
+    }
+}
@@ -1,5 +1,7 @@
 package com.mybankingapp.accountservices.dto;
 
+    import com.mybankingapp.accountservices.model.Money;
+    import jakarta.validation.constraints.DecimalMax;
     import jakarta.validation.constraints.DecimalMin;
     import jakarta.validation.constraints.NotNull;
     import lombok.Data;
@@ -23,10 +25,12 @@ package com.mybankingapp.accountservices.dto;
 
         /**
          * The initial deposit amount for the account.
-         * Must be greater than 0.0 and not null.
+         * Must be greater than 0.0, fit in the {@link Money} precision and not null.
+         * It is rounded half up to cents, as the balance column always did.
          */
         @NotNull
         @DecimalMin(value = "0.0", inclusive = false)
+        @DecimalMax(value = Money.MAX_DECIMAL_EXCLUSIVE, inclusive = false)
         private BigDecimal initialDeposit;
 
         /**
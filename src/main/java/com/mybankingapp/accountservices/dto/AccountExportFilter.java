@@ -0,0 +1,32 @@
+package com.mybankingapp.accountservices.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria selecting the accounts of an export. Criteria left {@code null} do not filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountExportFilter {
+
+    private String accountType;
+
+    private Boolean active;
+
+    /**
+     * Inclusive lower bound of the creation time.
+     */
+    private LocalDateTime createdFrom;
+
+    /**
+     * Exclusive upper bound of the creation time.
+     */
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,38 @@
+package com.mybankingapp.accountservices.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk import run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountImportResult {
+
+    /**
+     * Rows imported by this run.
+     */
+    private long importedRows;
+
+    /**
+     * Rows rejected by validation in this run.
+     */
+    private long rejectedRows;
+
+    /**
+     * Rows skipped because their chunk was imported by a previous run.
+     */
+    private long skippedRows;
+
+    /**
+     * Chunks that could not be written; running the import again retries them.
+     */
+    private int failedChunks;
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,27 @@
+package com.mybankingapp.accountservices.dto;
+
+import com.mybankingapp.accountservices.model.Account;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of accounts in creation order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountPage {
+
+    private List<Account> accounts;
+
+    /**
+     * Opaque position after the last account of the page, to be passed to get the next page,
+     * or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.mybankingapp.accountservices.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The columns of an account that tell whether it changed, read without loading the account.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountVersion {
+
+    private Long version;
+
+    private int balanceStripes;
+}
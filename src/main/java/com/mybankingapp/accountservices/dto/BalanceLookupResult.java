@@ -0,0 +1,31 @@
+package com.mybankingapp.accountservices.dto;
+
+import com.mybankingapp.accountservices.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO (Data Transfer Object) with the balances of several accounts looked up at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceLookupResult {
+
+    /**
+     * The balance of each active account, in the order the ids were requested.
+     */
+    private Map<UUID, Money> balances;
+
+    /**
+     * The requested ids that do not belong to an active account.
+     */
+    private List<UUID> notFound;
+}
@@ -0,0 +1,30 @@
+package com.mybankingapp.accountservices.dto;
+
+import com.mybankingapp.accountservices.model.Money;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO (Data Transfer Object) for deposit and withdrawal requests.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceMutationRequest {
+
+    /**
+     * The amount to deposit or withdraw.
+     * Must be greater than 0.0, have at most {@value Money#SCALE} decimals so it is never rounded, fit in the
+     * {@link Money} precision and not null.
+     */
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = false)
+    @Digits(integer = Money.PRECISION - Money.SCALE, fraction = Money.SCALE)
+    private BigDecimal amount;
+}
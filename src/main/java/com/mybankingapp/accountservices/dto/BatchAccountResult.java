@@ -0,0 +1,48 @@
+package com.mybankingapp.accountservices.dto;
+
+import com.mybankingapp.accountservices.model.Account;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) describing the outcome of one item of a batch account registration.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchAccountResult {
+
+    /**
+     * Possible outcomes of a batch item.
+     */
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    /**
+     * The position of the item in the submitted batch, starting at 0.
+     */
+    private int index;
+
+    /**
+     * The outcome of the item.
+     */
+    private Status status;
+
+    /**
+     * The created account, only present when the status is CREATED.
+     */
+    private Account account;
+
+    /**
+     * Validation or persistence errors, only present when the item was not created.
+     */
+    private List<String> errors;
+}
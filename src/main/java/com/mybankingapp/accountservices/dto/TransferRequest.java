@@ -0,0 +1,45 @@
+package com.mybankingapp.accountservices.dto;
+
+import com.mybankingapp.accountservices.model.Money;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO (Data Transfer Object) for transfers between two accounts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequest {
+
+    /**
+     * The account the funds are taken from.
+     * Must not be null.
+     */
+    @NotNull
+    private UUID sourceAccountId;
+
+    /**
+     * The account the funds are credited to.
+     * Must not be null.
+     */
+    @NotNull
+    private UUID targetAccountId;
+
+    /**
+     * The amount to transfer.
+     * Must be greater than 0.0, have at most {@value Money#SCALE} decimals so it is never rounded, fit in the
+     * {@link Money} precision and not null.
+     */
+    @NotNull
+    @DecimalMin(value = "0.0", inclusive = false)
+    @Digits(integer = Money.PRECISION - Money.SCALE, fraction = Money.SCALE)
+    private BigDecimal amount;
+}
@@ -0,0 +1,28 @@
+package com.mybankingapp.accountservices.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of a completed transfer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransferResult {
+
+    private UUID sourceAccountId;
+
+    private UUID targetAccountId;
+
+    private BigDecimal amount;
+
+    private LocalDateTime executedAt;
+}
@@ -0,0 +1,12 @@
+package com.mybankingapp.accountservices.exception;
+
+/**
+ * Thrown when a request arrives with an {@code Idempotency-Key} whose first request is still running
+ * on another instance.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException() {
+        super("A request with this Idempotency-Key is still in progress, retry later");
+    }
+}
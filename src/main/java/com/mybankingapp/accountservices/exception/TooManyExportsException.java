@@ -0,0 +1,11 @@
+package com.mybankingapp.accountservices.exception;
+
+/**
+ * Thrown when an export is requested while the maximum number of exports is already running.
+ */
+public class TooManyExportsException extends RuntimeException {
+
+    public TooManyExportsException(int maxConcurrentExports) {
+        super("Too many exports in progress, at most " + maxConcurrentExports + " can run at once");
+    }
+}
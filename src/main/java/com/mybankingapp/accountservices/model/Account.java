@@ -5,17 +5,23 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * A customer account. The schema is defined by the migrations in {@code db/migration}; the indexes declared
+ * here only shape the schema Hibernate generates for tests, where the partial indexes of the migrations
+ * are not available.
+ */
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "account")
+@Table(name = "account",
+        indexes = @Index(name = "idx_account_customer_active", columnList = "customer_id, created_at, id"))
 public class Account {
 
     @Id
@@ -26,12 +32,32 @@ public class Account {
     private String accountNumber;
 
     private String accountType;
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = Money.PRECISION, scale = Money.SCALE)
+    private Money balance;
     private LocalDateTime createdAt;
     private boolean active;
 
-    @Column(unique = true, nullable = false)
+    /**
+     * The customer owning the account. A customer can hold several accounts.
+     */
+    @Column(nullable = false)
     private UUID customerId;
 
+    /**
+     * Optimistic lock version, incremented on every update of the row.
+     */
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    /**
+     * Number of {@link AccountBalanceStripe} rows holding part of the balance, or 0 when the whole
+     * balance is kept in {@link #balance}.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int balanceStripes;
+
 }
 
@@ -0,0 +1,39 @@
+package com.mybankingapp.accountservices.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Part of the balance of a striped account. Credits to a striped account are added to one
+ * of its stripes instead of the account row, so concurrent credits rarely wait on the same row lock.
+ * The balance of the account is its own {@code balance} plus the sum of its stripes.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "account_balance_stripe",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "stripe"}))
+public class AccountBalanceStripe {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = Money.PRECISION, scale = Money.SCALE)
+    private Money balance;
+
+}
@@ -0,0 +1,51 @@
+package com.mybankingapp.accountservices.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint of a bulk import: one row per chunk of the file whose accounts have been committed.
+ * It is inserted in the same transaction as the accounts, so a restarted import skips exactly
+ * the chunks that were imported before.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "account_import_chunk",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"import_id", "start_offset"}))
+public class AccountImportChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    /**
+     * Identifies the imported file, so chunks of different files never match.
+     */
+    @Column(name = "import_id", nullable = false, length = 300)
+    private String importId;
+
+    /**
+     * Byte offset of the first line of the chunk in the file.
+     */
+    @Column(name = "start_offset", nullable = false)
+    private long startOffset;
+
+    @Column(nullable = false)
+    private int importedRows;
+
+    @Column(nullable = false)
+    private int rejectedRows;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+}
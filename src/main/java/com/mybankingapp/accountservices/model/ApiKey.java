@@ -0,0 +1,39 @@
+package com.mybankingapp.accountservices.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * API key issued to a client. Only the SHA-256 hash of the key is stored, hex encoded.
+ * A client may hold several active keys at once, which allows rotating a key by issuing
+ * the new one before deactivating or expiring the old one.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "api_key")
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false, length = 100)
+    private String clientId;
+
+    @Column(unique = true, nullable = false, length = 64)
+    private String keyHash;
+
+    private boolean active;
+
+    private LocalDateTime expiresAt;
+
+}
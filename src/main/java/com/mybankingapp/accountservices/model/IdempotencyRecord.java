@@ -0,0 +1,56 @@
+package com.mybankingapp.accountservices.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a request sent with an {@code Idempotency-Key}, stored so retries of the request are answered
+ * with the same response. The row is inserted before the request runs, without a response, to claim the key;
+ * {@code completedAt} is set together with the response once it has been produced.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "idempotency_record",
+        indexes = @Index(name = "idx_idempotency_record_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    /**
+     * The client id and the key sent by the client, so keys of different clients never collide.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 400)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the request body, hex encoded, to detect a key reused for a different request.
+     */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * The response body as JSON, or {@code null} while the request is running.
+     */
+    @Column(length = 4000)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * After this instant the record is ignored and purged. While the request is running it is a short lease,
+     * so a key claimed by an instance that died can be claimed again.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,226 @@
+package com.mybankingapp.accountservices.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as a {@code long} number of minor units, cents, with the fixed scale of the
+ * {@code numeric(18, 2)} balance columns. Arithmetic and comparisons work on the {@code long} and never
+ * allocate a {@link BigDecimal}; conversions to and from it happen only at the edges, when reading a
+ * request or a JDBC column.
+ *
+ * <p>In JSON an amount is a plain decimal number with two fraction digits, as the {@code BigDecimal}
+ * balances were.</p>
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    /**
+     * Number of fraction digits of an amount.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Maximum number of digits of an amount, so that any amount in range fits in a {@code long} of minor units.
+     */
+    public static final int PRECISION = 18;
+
+    /**
+     * Largest amount in minor units, {@code 9999999999999999.99}.
+     */
+    public static final long MAX_MINOR_UNITS = 999_999_999_999_999_999L;
+
+    /**
+     * Exclusive upper bound of the decimal amounts that {@link #of(BigDecimal)} accepts once rounded,
+     * for {@code @DecimalMax} constraints on requests.
+     */
+    public static final String MAX_DECIMAL_EXCLUSIVE = "9999999999999999.995";
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Longest text of an amount: a sign, {@value #PRECISION} digits and the decimal point.
+     */
+    private static final int MAX_CHARS = PRECISION + 2;
+
+    /**
+     * @throws IllegalArgumentException if the amount does not fit in {@value #PRECISION} digits
+     */
+    public Money {
+        if (minorUnits > MAX_MINOR_UNITS || minorUnits < -MAX_MINOR_UNITS) {
+            throw new IllegalArgumentException("Amount out of range");
+        }
+    }
+
+    /**
+     * @param minorUnits The amount in cents.
+     * @return The amount, {@link #ZERO} without allocating for 0.
+     * @throws IllegalArgumentException if the amount does not fit in {@value #PRECISION} digits
+     */
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Converts a decimal amount, rounding it half up to {@value #SCALE} fraction digits as the
+     * {@code numeric} columns do.
+     *
+     * @param amount The amount, or {@code null}.
+     * @return The amount, or {@code null} for {@code null}.
+     * @throws IllegalArgumentException if the amount does not fit in {@value #PRECISION} digits
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        BigDecimal scaled = amount.setScale(SCALE, RoundingMode.HALF_UP);
+        if (scaled.precision() > PRECISION) {
+            throw new IllegalArgumentException("Amount out of range");
+        }
+        return ofMinorUnits(scaled.unscaledValue().longValue());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the sum does not fit in {@value #PRECISION} digits
+     */
+    public Money plus(Money other) {
+        return ofMinorUnits(minorUnits + other.minorUnits);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the difference does not fit in {@value #PRECISION} digits
+     */
+    public Money minus(Money other) {
+        return ofMinorUnits(minorUnits - other.minorUnits);
+    }
+
+    public Money negate() {
+        return ofMinorUnits(-minorUnits);
+    }
+
+    /**
+     * @return -1, 0 or 1 as the amount is negative, zero or positive.
+     */
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Returns the amount without trailing zeros in its fraction, as
+     * {@code toBigDecimal().stripTrailingZeros().toPlainString()} would: {@code 320.1} for {@code 320.10}.
+     */
+    public String toStrippedString() {
+        char[] chars = new char[MAX_CHARS];
+        int start = write(chars);
+        int end = MAX_CHARS;
+        if (chars[end - 1] == '0') {
+            end--;
+            if (chars[end - 1] == '0') {
+                // Drops the decimal point too.
+                end -= 2;
+            }
+        }
+        return new String(chars, start, end - start);
+    }
+
+    /**
+     * Returns the amount as a plain decimal number with {@value #SCALE} fraction digits, such as {@code -0.05}.
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[MAX_CHARS];
+        int start = write(chars);
+        return new String(chars, start, MAX_CHARS - start);
+    }
+
+    /**
+     * Writes the amount as a plain decimal number with {@value #SCALE} fraction digits at the end of a buffer
+     * of {@link #MAX_CHARS} characters.
+     *
+     * @return The index of its first character.
+     */
+    private int write(char[] chars) {
+        long digits = Math.abs(minorUnits);
+        int i = MAX_CHARS;
+        for (int fraction = 0; fraction < SCALE; fraction++) {
+            chars[--i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        chars[--i] = '.';
+        do {
+            chars[--i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        } while (digits != 0);
+        if (minorUnits < 0) {
+            chars[--i] = '-';
+        }
+        return i;
+    }
+
+    /**
+     * Writes an amount as a JSON number straight from its minor units, through a buffer reused by each
+     * thread, without a {@link BigDecimal} or an intermediate {@link String}.
+     */
+    static class Serializer extends StdScalarSerializer<Money> {
+
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_CHARS]);
+
+        Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] chars = BUFFER.get();
+            int start = value.write(chars);
+            gen.writeNumber(chars, start, MAX_CHARS - start);
+        }
+    }
+
+    /**
+     * Reads an amount from a JSON number, or from a string holding one.
+     */
+    static class Deserializer extends StdScalarDeserializer<Money> {
+
+        Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+                return Money.of(p.getDecimalValue());
+            }
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                String text = p.getText().trim();
+                try {
+                    return Money.of(new BigDecimal(text));
+                } catch (NumberFormatException ex) {
+                    return (Money) ctxt.handleWeirdStringValue(Money.class, text, "not a valid amount");
+                }
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.model.AccountBalanceStripe;
+import com.mybankingapp.accountservices.model.Money;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountBalanceStripeRepository extends JpaRepository<AccountBalanceStripe, UUID> {
+    List<AccountBalanceStripe> findByAccountId(UUID accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceStripe s where s.accountId = :accountId order by s.stripe")
+    List<AccountBalanceStripe> lockByAccountId(UUID accountId);
+
+    @Modifying
+    @Query("update AccountBalanceStripe s set s.balance = s.balance + :amount where s.accountId = :accountId and s.stripe = :stripe")
+    int addToBalance(UUID accountId, int stripe, Money amount);
+}
@@ -0,0 +1,14 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.dto.AccountExportFilter;
+import com.mybankingapp.accountservices.model.Account;
+
+import java.util.stream.Stream;
+
+public interface AccountExportRepository {
+    /**
+     * Streams the accounts matching the filter through a database cursor.
+     * Must be called and consumed inside a transaction, and the stream must be closed.
+     */
+    Stream<Account> streamForExport(AccountExportFilter filter);
+}
@@ -0,0 +1,58 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.dto.AccountExportFilter;
+import com.mybankingapp.accountservices.model.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds the export query from the criteria that are set, and reads it with the configured JDBC fetch size,
+ * so the driver holds at most one fetch of rows in memory. The entities are loaded read-only, without the
+ * snapshot Hibernate keeps for dirty checking.
+ */
+public class AccountExportRepositoryImpl implements AccountExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public AccountExportRepositoryImpl(@Value("${account.export.fetch-size:500}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<Account> streamForExport(AccountExportFilter filter) {
+        StringBuilder jpql = new StringBuilder("select a from Account a where 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filter.getAccountType() != null) {
+            jpql.append(" and a.accountType = :accountType");
+            parameters.put("accountType", filter.getAccountType());
+        }
+        if (filter.getActive() != null) {
+            jpql.append(" and a.active = :active");
+            parameters.put("active", filter.getActive());
+        }
+        if (filter.getCreatedFrom() != null) {
+            jpql.append(" and a.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            jpql.append(" and a.createdAt < :createdTo");
+            parameters.put("createdTo", filter.getCreatedTo());
+        }
+
+        TypedQuery<Account> query = entityManager.createQuery(jpql.toString(), Account.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        parameters.forEach(query::setParameter);
+        return query.getResultStream();
+    }
+}
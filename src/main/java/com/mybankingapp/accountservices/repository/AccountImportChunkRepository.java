@@ -0,0 +1,13 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.model.AccountImportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountImportChunkRepository extends JpaRepository<AccountImportChunk, UUID> {
+    @Query("select c.startOffset from AccountImportChunk c where c.importId = :importId")
+    List<Long> findStartOffsetsByImportId(String importId);
+}
@@ -1,12 +1,71 @@
 package com.mybankingapp.accountservices.repository;
 
+import com.mybankingapp.accountservices.dto.AccountBalance;
+import com.mybankingapp.accountservices.dto.AccountVersion;
 import com.mybankingapp.accountservices.model.Account;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface AccountRepository extends JpaRepository<Account, UUID> {
+public interface AccountRepository extends JpaRepository<Account, UUID>, AccountExportRepository {
     Optional<Account> findByIdAndActiveTrue(UUID id);
+    List<Account> findByIdInAndActiveTrue(Collection<UUID> ids);
     boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Reserves the next block of account numbers and returns its first value. Not read-only, so it joins the
+     * caller's transaction on the primary instead of opening one on the replica.
+     */
+    @Transactional
+    @Query(value = "select nextval('account_number_seq')", nativeQuery = true)
+    long nextAccountNumberBlock();
+
+    @Query("""
+            select a.balance + coalesce((select sum(s.balance) from AccountBalanceStripe s where s.accountId = a.id), 0)
+            from Account a where a.id = :id and a.active = true""")
+    Optional<BigDecimal> findBalanceByIdAndActiveTrue(UUID id);
+
+    @Query("""
+            select a.balance + coalesce((select sum(s.balance) from AccountBalanceStripe s where s.accountId = a.id), 0)
+            from Account a where a.id = :id""")
+    Optional<BigDecimal> findBalanceById(UUID id);
+
+    @Query("""
+            select new com.mybankingapp.accountservices.dto.AccountBalance(a.id,
+                   a.balance + coalesce((select sum(s.balance) from AccountBalanceStripe s where s.accountId = a.id), 0))
+            from Account a where a.id in :ids and a.active = true""")
+    List<AccountBalance> findBalancesByIdInAndActiveTrue(Collection<UUID> ids);
+
+    @Query("select a.balanceStripes from Account a where a.id = :id and a.active = true")
+    Optional<Integer> findBalanceStripesByIdAndActiveTrue(UUID id);
+
+    @Query("""
+            select new com.mybankingapp.accountservices.dto.AccountVersion(a.version, a.balanceStripes)
+            from Account a where a.id = :id and a.active = true""")
+    Optional<AccountVersion> findVersionByIdAndActiveTrue(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id and a.active = true")
+    Optional<Account> lockByIdAndActiveTrue(UUID id);
+
+    @Query("""
+            select a from Account a where a.customerId = :customerId and a.active = true
+            order by a.createdAt, a.id""")
+    List<Account> findByCustomerId(UUID customerId, Limit limit);
+
+    @Query("""
+            select a from Account a where a.customerId = :customerId and a.active = true
+            and (a.createdAt, a.id) > (:createdAt, :id)
+            order by a.createdAt, a.id""")
+    List<Account> findByCustomerIdAfter(UUID customerId, LocalDateTime createdAt, UUID id, Limit limit);
 }
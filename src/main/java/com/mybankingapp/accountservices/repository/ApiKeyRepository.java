@@ -0,0 +1,14 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.model.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ApiKeyRepository extends JpaRepository<ApiKey, UUID> {
+    @Query("select k from ApiKey k where k.active = true and (k.expiresAt is null or k.expiresAt > :now)")
+    List<ApiKey> findUsable(LocalDateTime now);
+}
@@ -0,0 +1,28 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    /**
+     * Inserts a record without response. Unlike {@code save}, which merges, it fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} if the key is already taken.
+     */
+    @Modifying
+    @Query("""
+            insert into IdempotencyRecord (idempotencyKey, requestHash, createdAt, expiresAt)
+            values (:idempotencyKey, :requestHash, :createdAt, :expiresAt)""")
+    int insertClaim(String idempotencyKey, String requestHash, LocalDateTime createdAt, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :idempotencyKey and r.expiresAt < :now")
+    int deleteExpired(String idempotencyKey, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteAllExpired(LocalDateTime now);
+}
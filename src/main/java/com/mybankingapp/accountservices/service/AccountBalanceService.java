@@ -0,0 +1,331 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.config.CacheConfig;
+import com.mybankingapp.accountservices.dto.TransferResult;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.AccountBalanceStripe;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountBalanceStripeRepository;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Service class for changing account balances.
+ *
+ * <p>Updates of the account row are guarded by its {@code @Version} column: a mutation reads the account
+ * without locking it, and if another transaction updated the row in the meantime the commit fails and the
+ * mutation is retried from scratch, up to a configured number of attempts with a short random backoff.</p>
+ *
+ * <p>For accounts with balance stripes enabled, credits are added to a random {@link AccountBalanceStripe}
+ * with a single {@code UPDATE}, without touching the account row. Debits are taken from the account row;
+ * only when it does not cover the amount are the account row and then the stripes locked and folded into it first.</p>
+ *
+ * <p>Transfers lock the rows they debit and credit up front instead, in ascending order of account id, so two
+ * concurrent transfers in opposite directions always wait for each other in the same order and never deadlock.
+ * Locks on stripes are always taken after locks on account rows, and a credit to a stripe is the last step of a
+ * transaction, so stripes do not introduce a cycle either.</p>
+ */
+@Slf4j
+@Service
+@Timed(value = "account.balance.service", description = "Time spent in AccountBalanceService methods")
+public class AccountBalanceService {
+
+    private final AccountRepository accountRepository;
+
+    private final AccountBalanceStripeRepository stripeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final Counter retries;
+
+    private final int maxAttempts;
+
+    private final int maxStripes;
+
+    public AccountBalanceService(AccountRepository accountRepository,
+                                 AccountBalanceStripeRepository stripeRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 CacheManager cacheManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.balance.max-attempts:5}") int maxAttempts,
+                                 @Value("${account.balance.max-stripes:64}") int maxStripes) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("account.balance.max-attempts must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.stripeRepository = stripeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.retries = Counter.builder("account.balance.retries")
+                .description("Balance mutations retried after an optimistic lock conflict")
+                .register(meterRegistry);
+        this.maxAttempts = maxAttempts;
+        this.maxStripes = maxStripes;
+    }
+
+    /**
+     * Adds the given amount to the balance of an active account.
+     *
+     * @param id The UUID of the account.
+     * @param amount The positive amount to deposit, rounded half up to cents.
+     * @return The account with its updated balance.
+     * @throws IllegalArgumentException if the amount is not at least one cent once rounded.
+     * @throws RuntimeException if the account is not found or is inactive.
+     * @throws OptimisticLockingFailureException if the account kept changing concurrently on every attempt.
+     */
+    public Account deposit(UUID id, BigDecimal amount) {
+        log.info(">>> Depósito de {} en cuenta {}", amount, id);
+        Account account = mutate(id, positive(amount));
+        log.info("<<< Depósito aplicado en cuenta {}", id);
+        return account;
+    }
+
+    /**
+     * Subtracts the given amount from the balance of an active account.
+     *
+     * @param id The UUID of the account.
+     * @param amount The positive amount to withdraw, rounded half up to cents.
+     * @return The account with its updated balance.
+     * @throws IllegalArgumentException if the amount is not at least one cent once rounded or the balance
+     *                                  does not cover it.
+     * @throws RuntimeException if the account is not found or is inactive.
+     * @throws OptimisticLockingFailureException if the account kept changing concurrently on every attempt.
+     */
+    public Account withdraw(UUID id, BigDecimal amount) {
+        log.info(">>> Retiro de {} en cuenta {}", amount, id);
+        Account account = mutate(id, positive(amount).negate());
+        log.info("<<< Retiro aplicado en cuenta {}", id);
+        return account;
+    }
+
+    /**
+     * Enables balance stripes for a hot account, or raises their number.
+     * Existing stripes keep their balance; the number of stripes can not be lowered.
+     *
+     * @param id The UUID of the account.
+     * @param stripes The number of stripes, between the current number and the configured maximum.
+     * @return The account with its new number of stripes.
+     * @throws IllegalArgumentException if the number of stripes is out of range.
+     * @throws RuntimeException if the account is not found or is inactive.
+     */
+    public Account enableBalanceStripes(UUID id, int stripes) {
+        if (stripes <= 0 || stripes > maxStripes) {
+            throw new IllegalArgumentException("Balance stripes must be between 1 and " + maxStripes);
+        }
+        log.info(">>> Habilitando {} franjas de balance en cuenta {}", stripes, id);
+        Account account = withRetry(() -> transactionTemplate.execute(status -> {
+            Account current = findActive(id);
+            if (stripes < current.getBalanceStripes()) {
+                throw new IllegalArgumentException("Balance stripes can not be lowered from " + current.getBalanceStripes());
+            }
+            Set<Integer> existing = new HashSet<>();
+            for (AccountBalanceStripe stripe : stripeRepository.findByAccountId(id)) {
+                existing.add(stripe.getStripe());
+            }
+            for (int i = 0; i < stripes; i++) {
+                if (!existing.contains(i)) {
+                    stripeRepository.save(AccountBalanceStripe.builder()
+                            .accountId(id)
+                            .stripe(i)
+                            .balance(Money.ZERO)
+                            .build());
+                }
+            }
+            current.setBalanceStripes(stripes);
+            return current;
+        }));
+        return withTotalBalance(account);
+    }
+
+    /**
+     * Moves funds from one active account to another in a single transaction.
+     *
+     * @param sourceId The UUID of the account to debit.
+     * @param targetId The UUID of the account to credit.
+     * @param amount The positive amount to transfer, rounded half up to cents.
+     * @return The executed transfer, with the rounded amount.
+     * @throws IllegalArgumentException if both accounts are the same, the amount is not at least one cent once
+     *                                  rounded or the source balance does not cover it.
+     * @throws RuntimeException if either account is not found or is inactive.
+     */
+    public TransferResult transfer(UUID sourceId, UUID targetId, BigDecimal amount) {
+        if (sourceId.equals(targetId)) {
+            throw new IllegalArgumentException("Source and target accounts must differ");
+        }
+        log.info(">>> Transferencia de {} de cuenta {} a cuenta {}", amount, sourceId, targetId);
+        Money delta = positive(amount);
+        withRetry(() -> {
+            transactionTemplate.executeWithoutResult(status -> applyTransfer(sourceId, targetId, delta));
+            return null;
+        });
+        evict(sourceId);
+        evict(targetId);
+        log.info("<<< Transferencia aplicada de cuenta {} a cuenta {}", sourceId, targetId);
+        return TransferResult.builder()
+                .sourceAccountId(sourceId)
+                .targetAccountId(targetId)
+                .amount(delta.toBigDecimal())
+                .executedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void applyTransfer(UUID sourceId, UUID targetId, Money amount) {
+        // A striped target is credited through one of its stripes, so its row is not locked at all.
+        int targetStripes = accountRepository.findBalanceStripesByIdAndActiveTrue(targetId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        Account source;
+        Account target = null;
+        if (targetStripes > 0) {
+            source = lockActive(sourceId);
+        } else if (sourceId.compareTo(targetId) < 0) {
+            source = lockActive(sourceId);
+            target = lockActive(targetId);
+        } else {
+            target = lockActive(targetId);
+            source = lockActive(sourceId);
+        }
+
+        Money balance = source.getBalance().minus(amount);
+        if (balance.signum() < 0 && source.getBalanceStripes() > 0) {
+            balance = balance.plus(foldStripes(sourceId));
+        }
+        if (balance.signum() < 0) {
+            throw new IllegalArgumentException("Insufficient funds");
+        }
+        source.setBalance(balance);
+
+        if (target == null) {
+            creditStripe(targetId, targetStripes, amount);
+        } else {
+            target.setBalance(target.getBalance().plus(amount));
+        }
+    }
+
+    /**
+     * Rounds a requested amount to cents, rejecting amounts that would round to nothing, or below.
+     */
+    private static Money positive(BigDecimal amount) {
+        Money money = Money.of(amount);
+        if (money == null || money.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be at least 0.01");
+        }
+        return money;
+    }
+
+    private Account mutate(UUID id, Money delta) {
+        Account account = withRetry(() -> transactionTemplate.execute(status -> apply(id, delta)));
+        return withTotalBalance(account);
+    }
+
+    private Account apply(UUID id, Money delta) {
+        Account account = findActive(id);
+        if (account.getBalanceStripes() > 0 && delta.signum() > 0) {
+            creditStripe(id, account.getBalanceStripes(), delta);
+            return account;
+        }
+
+        Money balance = account.getBalance().plus(delta);
+        if (balance.signum() < 0 && account.getBalanceStripes() > 0) {
+            // Same lock order as transfers: the account row first, then its stripes.
+            lockActive(id);
+            balance = balance.plus(foldStripes(id));
+        }
+        if (balance.signum() < 0) {
+            throw new IllegalArgumentException("Insufficient funds");
+        }
+        account.setBalance(balance);
+        return account;
+    }
+
+    private void creditStripe(UUID id, int stripes, Money amount) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        if (stripeRepository.addToBalance(id, stripe, amount) != 1) {
+            throw new IllegalStateException("Balance stripe " + stripe + " missing for account " + id);
+        }
+    }
+
+    /**
+     * Locks the stripes of an account, moves their balance out of them and returns its sum.
+     * The caller adds it to the account row, whose version check catches a concurrent fold.
+     * The sum is kept in minor units, since a {@link Money} per stripe would not be optimized away in a loop.
+     */
+    private Money foldStripes(UUID id) {
+        long folded = 0;
+        List<AccountBalanceStripe> stripes = stripeRepository.lockByAccountId(id);
+        for (AccountBalanceStripe stripe : stripes) {
+            folded = Math.addExact(folded, stripe.getBalance().minorUnits());
+            stripe.setBalance(Money.ZERO);
+        }
+        return Money.ofMinorUnits(folded);
+    }
+
+    private Account findActive(UUID id) {
+        return accountRepository.findByIdAndActiveTrue(id)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
+    private Account lockActive(UUID id) {
+        return accountRepository.lockByIdAndActiveTrue(id)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
+    /**
+     * Evicts the cached balance and account, and for striped accounts replaces the balance of the
+     * returned, already detached, account with the total including its stripes.
+     */
+    private Account withTotalBalance(Account account) {
+        evict(account.getId());
+        if (account.getBalanceStripes() > 0) {
+            accountRepository.findBalanceByIdAndActiveTrue(account.getId()).map(Money::of).ifPresent(account::setBalance);
+        }
+        return account;
+    }
+
+    private void evict(UUID id) {
+        for (String name : List.of(CacheConfig.BALANCES_CACHE, CacheConfig.ACCOUNTS_CACHE)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.evict(id);
+            }
+        }
+    }
+
+    private <T> T withRetry(Supplier<T> mutation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return mutation.get();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Conflicto de concurrencia persistente tras {} intentos", attempt);
+                    throw ex;
+                }
+                retries.increment();
+                // Random backoff of up to one millisecond per attempt, so conflicting writers spread out.
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(attempt)));
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.BatchAccountResult;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for registering accounts in bulk.
+ * Valid items are persisted in chunks, each chunk in its own transaction, so Hibernate can send
+ * the inserts as JDBC batches. A failing chunk is retried item by item, so one bad row only
+ * fails itself and not the whole batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountBatchService {
+
+    private final AccountService accountService;
+
+    private final AccountRepository accountRepository;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Number of accounts persisted and flushed per transaction.
+     */
+    @Value("${account.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of items accepted in a single batch.
+     */
+    @Value("${account.batch.max-size:10000}")
+    private int maxSize = 10_000;
+
+    /**
+     * Creates one account per request.
+     *
+     * @param requests The account creation requests.
+     * @return One result per request, in the same order as the requests.
+     * @throws IllegalArgumentException if the batch is empty or larger than the configured maximum.
+     */
+    public List<BatchAccountResult> createAccounts(List<AccountCreationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one account");
+        }
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("Batch must not contain more than " + maxSize + " accounts");
+        }
+
+        log.info(">>> Creación de {} cuentas en lote iniciada", requests.size());
+
+        BatchAccountResult[] results = new BatchAccountResult[requests.size()];
+        List<Integer> chunkIndexes = new ArrayList<>(Math.min(chunkSize, requests.size()));
+        List<Account> chunk = new ArrayList<>(Math.min(chunkSize, requests.size()));
+
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = BatchAccountResult.builder()
+                        .index(i)
+                        .status(BatchAccountResult.Status.INVALID)
+                        .errors(errors)
+                        .build();
+                continue;
+            }
+
+            chunkIndexes.add(i);
+            chunk.add(accountService.buildAccount(requests.get(i)));
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunkIndexes, chunk, results);
+                chunkIndexes.clear();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunkIndexes, chunk, results);
+        }
+
+        long created = 0;
+        for (BatchAccountResult result : results) {
+            if (result.getStatus() == BatchAccountResult.Status.CREATED) {
+                created++;
+            }
+        }
+        log.info("<<< Lote procesado: {} de {} cuentas creadas", created, requests.size());
+
+        return List.of(results);
+    }
+
+    private List<String> validate(AccountCreationRequest request) {
+        if (request == null) {
+            return List.of("request: must not be null");
+        }
+
+        Set<ConstraintViolation<AccountCreationRequest>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<AccountCreationRequest> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private void persistChunk(List<Integer> indexes, List<Account> accounts, BatchAccountResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveAndClear(accounts));
+            for (int i = 0; i < accounts.size(); i++) {
+                results[indexes.get(i)] = created(indexes.get(i), accounts.get(i));
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Falló la inserción en lote de {} cuentas, reintentando una a una", accounts.size(), ex);
+            for (int i = 0; i < accounts.size(); i++) {
+                results[indexes.get(i)] = persistOne(indexes.get(i), accounts.get(i));
+            }
+        }
+    }
+
+    private BatchAccountResult persistOne(int index, Account account) {
+        // The rolled back chunk already assigned an ID and version; clear them so the entity is inserted again.
+        account.setId(null);
+        account.setVersion(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveAndClear(List.of(account)));
+            return created(index, account);
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo crear la cuenta en la posición {} del lote", index, ex);
+            return BatchAccountResult.builder()
+                    .index(index)
+                    .status(BatchAccountResult.Status.FAILED)
+                    .errors(List.of(ex.getMostSpecificCause().getMessage()))
+                    .build();
+        }
+    }
+
+    private void saveAndClear(List<Account> accounts) {
+        accountRepository.saveAll(accounts);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static BatchAccountResult created(int index, Account account) {
+        return BatchAccountResult.builder()
+                .index(index)
+                .status(BatchAccountResult.Status.CREATED)
+                .account(account)
+                .build();
+    }
+}
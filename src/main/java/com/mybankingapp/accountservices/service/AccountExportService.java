@@ -0,0 +1,189 @@
+package com.mybankingapp.accountservices.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mybankingapp.accountservices.dto.AccountExportFilter;
+import com.mybankingapp.accountservices.exception.TooManyExportsException;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Service class for bulk exports of accounts.
+ *
+ * <p>Accounts are read through a database cursor inside a read-only transaction and written to the
+ * output one at a time; each entity is detached as soon as it is read, so neither the persistence context
+ * nor the output buffer grows with the number of rows.</p>
+ *
+ * <p>An export holds a database connection for as long as the client reads, so only a configured number
+ * of exports run at once.</p>
+ */
+@Slf4j
+@Service
+public class AccountExportService {
+
+    /**
+     * Output format of an export.
+     */
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Opens the stream an export is written to, only once the export is allowed to run, so a rejected
+     * export leaves the response untouched.
+     */
+    @FunctionalInterface
+    public interface Output {
+        OutputStream open() throws IOException;
+    }
+
+    private static final byte[] CSV_HEADER =
+            "id,accountNumber,accountType,balance,createdAt,active,customerId\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AccountRepository accountRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectWriter jsonWriter;
+
+    private final Semaphore exports;
+
+    private final int maxConcurrentExports;
+
+    public AccountExportService(AccountRepository accountRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${account.export.max-concurrent:2}") int maxConcurrentExports) {
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // The response stream stays open across values and is flushed by the buffer, not after every value.
+        this.jsonWriter = objectMapper.writerFor(Account.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exports = new Semaphore(maxConcurrentExports);
+        this.maxConcurrentExports = maxConcurrentExports;
+    }
+
+    /**
+     * Writes every account matching the filter to the output stream.
+     * For accounts with balance stripes, the exported balance includes them.
+     *
+     * @param filter The criteria selecting the accounts.
+     * @param format The output format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @return The number of accounts written.
+     * @throws TooManyExportsException if the maximum number of exports is already running.
+     * @throws IOException if writing to the output stream fails.
+     */
+    public long export(AccountExportFilter filter, Format format, OutputStream out) throws IOException {
+        return export(filter, format, () -> out);
+    }
+
+    /**
+     * Writes every account matching the filter to the stream opened by the given output, which is only
+     * opened once the export has been admitted.
+     *
+     * @param filter The criteria selecting the accounts.
+     * @param format The output format.
+     * @param output Opens the stream to write to; it is flushed but not closed.
+     * @return The number of accounts written.
+     * @throws TooManyExportsException if the maximum number of exports is already running.
+     * @throws IOException if opening or writing to the output stream fails.
+     */
+    public long export(AccountExportFilter filter, Format format, Output output) throws IOException {
+        if (!exports.tryAcquire()) {
+            throw new TooManyExportsException(maxConcurrentExports);
+        }
+        log.info(">>> Exportación de cuentas en formato {} iniciada: {}", format, filter);
+        try {
+            BufferedOutputStream buffer = new BufferedOutputStream(output.open(), BUFFER_SIZE);
+            Long written = transactionTemplate.execute(status -> {
+                try (Stream<Account> accounts = accountRepository.streamForExport(filter)) {
+                    return write(accounts.iterator(), format, buffer);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            buffer.flush();
+            log.info("<<< Exportación de cuentas finalizada: {} cuentas", written);
+            return written;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            exports.release();
+        }
+    }
+
+    private long write(Iterator<Account> accounts, Format format, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+        }
+        long written = 0;
+        while (accounts.hasNext()) {
+            Account account = accounts.next();
+            entityManager.detach(account);
+            if (account.getBalanceStripes() > 0) {
+                // Inactive accounts are exported too, so their stripes must be summed regardless of the flag.
+                accountRepository.findBalanceById(account.getId()).map(Money::of).ifPresent(account::setBalance);
+            }
+            if (format == Format.CSV) {
+                out.write(toCsv(account).getBytes(StandardCharsets.UTF_8));
+            } else {
+                jsonWriter.writeValue(out, account);
+                out.write('\n');
+            }
+            written++;
+        }
+        return written;
+    }
+
+    static String toCsv(Account account) {
+        return String.join(",",
+                String.valueOf(account.getId()),
+                csvField(account.getAccountNumber()),
+                csvField(account.getAccountType()),
+                account.getBalance() == null ? "" : account.getBalance().toString(),
+                String.valueOf(account.getCreatedAt()),
+                String.valueOf(account.isActive()),
+                String.valueOf(account.getCustomerId())) + "\n";
+    }
+
+    /**
+     * Quotes a field that contains a separator, a quote or a line break, doubling its quotes.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,578 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.AccountImportResult;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.AccountImportChunk;
+import com.mybankingapp.accountservices.repository.AccountImportChunkRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Job that loads accounts in bulk from a CSV file with the columns {@value #HEADER}.
+ *
+ * <p>The file is read through memory-mapped windows of a {@link FileChannel}. Amounts and customer ids are
+ * parsed straight from the mapped bytes, and account types, which repeat, are turned into strings once
+ * per distinct value, so a row costs one {@link AccountCreationRequest} rather than a string per field.
+ * Fields are not quoted.</p>
+ *
+ * <p>Rows are grouped in chunks of a fixed number of lines and handed to parallel workers. A worker
+ * validates each row with the rules of {@link AccountCreationRequest}, allocates the account numbers and
+ * inserts the accounts as a JDBC batch, together with an
+ * {@link AccountImportChunk} checkpoint, in one transaction. Chunks start at the same offsets on every
+ * run, so running the import of the same file again skips the chunks already committed and retries
+ * the rest.</p>
+ */
+@Slf4j
+@Service
+public class AccountImportJob {
+
+    static final String HEADER = "accountType,initialDeposit,customerId";
+
+    private static final String INSERT_ACCOUNT = """
+            insert into account (id, account_number, account_type, balance, created_at, active, customer_id,
+                                 version, balance_stripes)
+            values (?, ?, ?, ?, ?, ?, ?, 0, 0)""";
+
+    /**
+     * Rejected rows logged one by one per run; further rejections are only counted.
+     */
+    private static final int MAX_LOGGED_REJECTIONS = 100;
+
+    private final AccountService accountService;
+
+    private final Validator validator;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AccountImportChunkRepository chunkRepository;
+
+    private final int workers;
+
+    private final int chunkSize;
+
+    private final long windowSize;
+
+    private final Duration progressInterval;
+
+    public AccountImportJob(AccountService accountService,
+                            Validator validator,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            AccountImportChunkRepository chunkRepository,
+                            @Value("${account.import.workers:4}") int workers,
+                            @Value("${account.import.chunk-size:1000}") int chunkSize,
+                            @Value("${account.import.window-size:64MB}") DataSize windowSize,
+                            @Value("${account.import.progress-interval:PT10S}") Duration progressInterval) {
+        if (workers <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("account.import.workers and account.import.chunk-size must be positive");
+        }
+        if (windowSize.toBytes() <= 0 || windowSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("account.import.window-size must be between 1B and 2GB");
+        }
+        this.accountService = accountService;
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkRepository = chunkRepository;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.windowSize = windowSize.toBytes();
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Imports the accounts of a CSV file, skipping the chunks committed by previous runs on the same file.
+     *
+     * @param file The CSV file, starting with the header line {@value #HEADER}.
+     * @return The counts of this run.
+     * @throws IllegalArgumentException if the file does not start with the expected header or has a line
+     *                                  longer than the mapped window.
+     * @throws IOException if the file can not be read.
+     */
+    public AccountImportResult run(Path file) throws IOException {
+        String importId = file.getFileName() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+        Set<Long> committed = new HashSet<>(chunkRepository.findStartOffsetsByImportId(importId));
+        log.info(">>> Importación de cuentas iniciada desde {} ({} bloques ya importados)", file, committed.size());
+
+        Progress progress = new Progress();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        // Bounds the parsed chunks waiting for a worker, so the reader can not run ahead of the database.
+        Semaphore pending = new Semaphore(workers * 2);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(progress::report, progressInterval.toMillis(), progressInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        try (MappedLineReader reader = new MappedLineReader(file, windowSize)) {
+            readHeader(reader);
+            List<ImportRow> rows = new ArrayList<>(chunkSize);
+            long chunkStart = -1;
+            AccountTypes accountTypes = new AccountTypes();
+            while (reader.nextLine()) {
+                if (reader.isBlank()) {
+                    continue;
+                }
+                if (chunkStart < 0) {
+                    chunkStart = reader.lineOffset();
+                }
+                if (committed.contains(chunkStart)) {
+                    progress.skipped.increment();
+                } else {
+                    rows.add(parseRow(reader, accountTypes));
+                }
+                if (++progress.linesInChunk == chunkSize) {
+                    submit(pool, pending, importId, chunkStart, rows, progress);
+                    rows = new ArrayList<>(chunkSize);
+                    chunkStart = -1;
+                    progress.linesInChunk = 0;
+                }
+            }
+            if (chunkStart >= 0) {
+                submit(pool, pending, importId, chunkStart, rows, progress);
+            }
+        } finally {
+            pool.shutdown();
+            awaitTermination(pool);
+            reporter.shutdownNow();
+        }
+
+        AccountImportResult result = AccountImportResult.builder()
+                .importedRows(progress.imported.sum())
+                .rejectedRows(progress.rejected.sum())
+                .skippedRows(progress.skipped.sum())
+                .failedChunks(progress.failedChunks.get())
+                .elapsedMillis(progress.elapsedMillis())
+                .build();
+        log.info("<<< Importación finalizada: {}", result);
+        return result;
+    }
+
+    private static void readHeader(MappedLineReader reader) {
+        if (!reader.nextLine() || !HEADER.equals(reader.lineAsString().replace("\uFEFF", "").strip())) {
+            throw new IllegalArgumentException("Import file must start with the header " + HEADER);
+        }
+    }
+
+    private void submit(ExecutorService pool, Semaphore pending, String importId, long startOffset,
+                        List<ImportRow> rows, Progress progress) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        pending.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                importChunk(importId, startOffset, rows, progress);
+            } finally {
+                pending.release();
+            }
+        });
+    }
+
+    /**
+     * Builds and inserts the accounts of a chunk. Any failure, including allocating account numbers,
+     * counts the chunk as failed rather than escaping into the worker thread unnoticed.
+     */
+    private void importChunk(String importId, long startOffset, List<ImportRow> rows, Progress progress) {
+        try {
+            List<Account> accounts = new ArrayList<>(rows.size());
+            int rejected = 0;
+            for (ImportRow row : rows) {
+                List<String> errors = row.errors() != null ? row.errors() : validate(row.request());
+                if (!errors.isEmpty()) {
+                    rejected++;
+                    if (progress.loggedRejections.incrementAndGet() <= MAX_LOGGED_REJECTIONS) {
+                        log.warn("Fila {} rechazada: {}", row.line(), errors);
+                    }
+                    continue;
+                }
+                Account account = accountService.buildAccount(row.request());
+                account.setId(UUID.randomUUID());
+                accounts.add(account);
+            }
+
+            AccountImportChunk checkpoint = AccountImportChunk.builder()
+                    .importId(importId)
+                    .startOffset(startOffset)
+                    .importedRows(accounts.size())
+                    .rejectedRows(rejected)
+                    .completedAt(LocalDateTime.now())
+                    .build();
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(accounts);
+                chunkRepository.save(checkpoint);
+            });
+            progress.imported.add(accounts.size());
+            progress.rejected.add(rejected);
+        } catch (RuntimeException ex) {
+            progress.failedChunks.incrementAndGet();
+            log.error("No se pudo importar el bloque que empieza en el byte {}", startOffset, ex);
+        }
+    }
+
+    private void insert(List<Account> accounts) {
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT, accounts, accounts.size(), (ps, account) -> {
+            ps.setObject(1, account.getId());
+            ps.setString(2, account.getAccountNumber());
+            ps.setString(3, account.getAccountType());
+            ps.setBigDecimal(4, account.getBalance().toBigDecimal());
+            ps.setObject(5, account.getCreatedAt());
+            ps.setBoolean(6, account.isActive());
+            ps.setObject(7, account.getCustomerId());
+        });
+    }
+
+    private List<String> validate(AccountCreationRequest request) {
+        Set<ConstraintViolation<AccountCreationRequest>> violations = validator.validate(request);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<AccountCreationRequest> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private static ImportRow parseRow(MappedLineReader reader, AccountTypes accountTypes) {
+        ByteBuffer buffer = reader.buffer();
+        int start = reader.lineStart();
+        int end = reader.lineEnd();
+        int firstComma = indexOf(buffer, start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, firstComma + 1, end);
+        if (secondComma < 0 || indexOf(buffer, secondComma + 1, end) >= 0) {
+            return new ImportRow(reader.lineNumber(), null, List.of("row: must have 3 fields"));
+        }
+
+        List<String> errors = new ArrayList<>(0);
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType(accountTypes.get(buffer, start, firstComma));
+        if (firstComma + 1 < secondComma) {
+            request.setInitialDeposit(parseDecimal(buffer, firstComma + 1, secondComma));
+            if (request.getInitialDeposit() == null) {
+                errors.add("initialDeposit: invalid number");
+            }
+        }
+        if (secondComma + 1 < end) {
+            request.setCustomerId(parseUuid(buffer, secondComma + 1, end));
+            if (request.getCustomerId() == null) {
+                errors.add("customerId: invalid UUID");
+            }
+        }
+        return new ImportRow(reader.lineNumber(), request, errors.isEmpty() ? null : errors);
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a plain decimal number such as {@code -12.50}, without exponent.
+     *
+     * @return the number, or {@code null} if the bytes are not a valid number
+     */
+    static BigDecimal parseDecimal(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (++digits > 18) {
+                    return parseDecimalSlow(buffer, from, to);
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private static BigDecimal parseDecimalSlow(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        try {
+            return new BigDecimal(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a UUID in its canonical 36 character form.
+     *
+     * @return the UUID, or {@code null} if the bytes are not a valid UUID
+     */
+    static UUID parseUuid(ByteBuffer buffer, int from, int to) {
+        if (to - from != 36) {
+            return null;
+        }
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        int hexDigits = 0;
+        for (int i = 0; i < 36; i++) {
+            byte b = buffer.get(from + i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (b != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int value = Character.digit(b, 16);
+            if (value < 0) {
+                return null;
+            }
+            if (hexDigits++ < 16) {
+                mostSignificant = mostSignificant << 4 | value;
+            } else {
+                leastSignificant = leastSignificant << 4 | value;
+            }
+        }
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static void awaitTermination(ExecutorService pool) {
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Esperando a que terminen los bloques en curso");
+            }
+        } catch (InterruptedException ex) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A parsed row. {@code errors} holds parse errors; rows without them still go through validation.
+     */
+    private record ImportRow(long line, AccountCreationRequest request, List<String> errors) {
+    }
+
+    /**
+     * Strings of the account types seen so far. Files hold few distinct types, so a linear scan
+     * over the bytes of each known type is cheaper than building a string per row.
+     */
+    private static final class AccountTypes {
+        private final List<byte[]> bytes = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+
+        String get(ByteBuffer buffer, int from, int to) {
+            int length = to - from;
+            for (int i = 0; i < bytes.size(); i++) {
+                if (matches(bytes.get(i), buffer, from, length)) {
+                    return strings.get(i);
+                }
+            }
+            byte[] value = new byte[length];
+            buffer.get(from, value);
+            String string = length == 0 ? null : new String(value, StandardCharsets.UTF_8);
+            if (bytes.size() < 64) {
+                bytes.add(value);
+                strings.add(string);
+            }
+            return string;
+        }
+
+        private static boolean matches(byte[] known, ByteBuffer buffer, int from, int length) {
+            if (known.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (known[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Counters of a run, and the periodic rows/sec report.
+     */
+    private static final class Progress {
+        private final long startNanos = System.nanoTime();
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final AtomicInteger failedChunks = new AtomicInteger();
+        private final AtomicInteger loggedRejections = new AtomicInteger();
+        private final AtomicLong lastReportedRows = new AtomicLong();
+        private volatile long lastReportNanos = startNanos;
+        /**
+         * Lines read into the current chunk; only touched by the reader thread.
+         */
+        private int linesInChunk;
+
+        void report() {
+            long now = System.nanoTime();
+            long rows = imported.sum() + rejected.sum();
+            long rowsSinceLast = rows - lastReportedRows.getAndSet(rows);
+            double seconds = (now - lastReportNanos) / 1e9;
+            lastReportNanos = now;
+            log.info("Importación en curso: {} filas importadas, {} rechazadas, {} omitidas, {} filas/s",
+                    imported.sum(), rejected.sum(), skipped.sum(), Math.round(rowsSinceLast / seconds));
+        }
+
+        long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Reads the lines of a file through read-only memory-mapped windows of at most {@code windowSize} bytes.
+     * A line that does not fit at the end of a window is read again from a window mapped at its start.
+     */
+    private static final class MappedLineReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final long fileSize;
+        private final long windowSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private int position;
+        private int lineStart;
+        private int lineEnd;
+        private long lineNumber;
+
+        MappedLineReader(Path file, long windowSize) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.fileSize = channel.size();
+            this.windowSize = windowSize;
+            map(0);
+        }
+
+        boolean nextLine() {
+            while (true) {
+                if (windowStart + position >= fileSize) {
+                    return false;
+                }
+                int newline = -1;
+                for (int i = position; i < window.limit(); i++) {
+                    if (window.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                boolean lastWindow = windowStart + window.limit() >= fileSize;
+                if (newline < 0 && !lastWindow) {
+                    if (position == 0) {
+                        throw new IllegalArgumentException("Line " + (lineNumber + 1) + " is longer than the import window");
+                    }
+                    remap(windowStart + position);
+                    continue;
+                }
+                lineStart = position;
+                lineEnd = newline < 0 ? window.limit() : newline;
+                position = newline < 0 ? window.limit() : newline + 1;
+                if (lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                lineNumber++;
+                return true;
+            }
+        }
+
+        private void map(long start) throws IOException {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+            position = 0;
+        }
+
+        private void remap(long start) {
+            try {
+                map(start);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not map the import file at byte " + start, ex);
+            }
+        }
+
+        ByteBuffer buffer() {
+            return window;
+        }
+
+        int lineStart() {
+            return lineStart;
+        }
+
+        int lineEnd() {
+            return lineEnd;
+        }
+
+        long lineOffset() {
+            return windowStart + lineStart;
+        }
+
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        boolean isBlank() {
+            for (int i = lineStart; i < lineEnd; i++) {
+                byte b = window.get(i);
+                if (b != ' ' && b != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String lineAsString() {
+            byte[] bytes = new byte[lineEnd - lineStart];
+            window.get(lineStart, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
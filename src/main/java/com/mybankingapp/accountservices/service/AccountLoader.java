@@ -0,0 +1,121 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.config.ReadReplicaRoutingDataSource;
+import com.mybankingapp.accountservices.dto.AccountBalance;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Component that loads single active accounts and balances through {@link CoalescingLoader}s.
+ * During a burst, concurrent lookups of one id run one query, and lookups of different ids arriving within
+ * {@code account.loader.window} share an {@code IN} query and a single connection. A batch of one id runs
+ * the same single-row query as before.
+ *
+ * <p>Each batch runs in its own read-only transaction, so lookups waiting for a batch hold no connection.
+ * Lookups are batched per {@link ReadReplicaRoutingDataSource#currentRoutingLane() routing lane}, so a batch
+ * is routed to the same database each of its lookups would read from on its own.</p>
+ */
+@Component
+public class AccountLoader {
+
+    private final AccountRepository accountRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final CoalescingLoader<UUID, Money> balances;
+
+    private final CoalescingLoader<UUID, Account> accounts;
+
+    public AccountLoader(AccountRepository accountRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${account.loader.window:PT0.002S}") Duration window,
+                         @Value("${account.loader.max-batch-size:100}") int maxBatchSize) {
+        this.accountRepository = accountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.balances = new CoalescingLoader<>("balances", this::loadBalances, ReadReplicaRoutingDataSource::currentRoutingLane,
+                window, maxBatchSize, meterRegistry);
+        this.accounts = new CoalescingLoader<>("accounts", this::loadAccounts, ReadReplicaRoutingDataSource::currentRoutingLane,
+                window, maxBatchSize, meterRegistry);
+    }
+
+    /**
+     * Loads the total balance of an active account, including its balance stripes.
+     *
+     * @param id The UUID of the account.
+     * @return The balance, or empty if the account is not found or is inactive.
+     */
+    public Optional<Money> loadBalance(UUID id) {
+        return Optional.ofNullable(balances.load(id));
+    }
+
+    /**
+     * Loads an active account. For an account with balance stripes, the balance includes them.
+     * Concurrent lookups of the same id get the same instance.
+     *
+     * @param id The UUID of the account.
+     * @return The account, or empty if it is not found or is inactive.
+     */
+    public Optional<Account> loadAccount(UUID id) {
+        return Optional.ofNullable(accounts.load(id));
+    }
+
+    private Map<UUID, Money> loadBalances(List<UUID> ids) {
+        return readOnlyTransaction.execute(status -> {
+            Map<UUID, Money> loaded = new HashMap<>();
+            if (ids.size() == 1) {
+                UUID id = ids.get(0);
+                accountRepository.findBalanceByIdAndActiveTrue(id).ifPresent(balance -> loaded.put(id, Money.of(balance)));
+                return loaded;
+            }
+            for (AccountBalance balance : accountRepository.findBalancesByIdInAndActiveTrue(ids)) {
+                loaded.put(balance.getId(), balance.getBalance());
+            }
+            return loaded;
+        });
+    }
+
+    private Map<UUID, Account> loadAccounts(List<UUID> ids) {
+        return readOnlyTransaction.execute(status -> {
+            Map<UUID, Account> loaded = new HashMap<>();
+            if (ids.size() == 1) {
+                UUID id = ids.get(0);
+                accountRepository.findByIdAndActiveTrue(id).ifPresent(account -> {
+                    if (account.getBalanceStripes() > 0) {
+                        accountRepository.findBalanceByIdAndActiveTrue(id).map(Money::of).ifPresent(account::setBalance);
+                    }
+                    loaded.put(id, account);
+                });
+                return loaded;
+            }
+            List<UUID> striped = new ArrayList<>();
+            for (Account account : accountRepository.findByIdInAndActiveTrue(ids)) {
+                loaded.put(account.getId(), account);
+                if (account.getBalanceStripes() > 0) {
+                    striped.add(account.getId());
+                }
+            }
+            if (!striped.isEmpty()) {
+                for (AccountBalance balance : accountRepository.findBalancesByIdInAndActiveTrue(striped)) {
+                    loaded.get(balance.getId()).setBalance(balance.getBalance());
+                }
+            }
+            return loaded;
+        });
+    }
+}
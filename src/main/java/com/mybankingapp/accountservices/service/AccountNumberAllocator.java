@@ -0,0 +1,15 @@
+package com.mybankingapp.accountservices.service;
+
+/**
+ * Strategy for allocating unique 10-digit account numbers.
+ * The implementation is selected with the {@code account.number.allocator} property.
+ */
+public interface AccountNumberAllocator {
+
+    /**
+     * Allocates a new account number that has not been handed out before.
+     *
+     * @return A unique 10-digit account number as a String.
+     */
+    String nextAccountNumber();
+}
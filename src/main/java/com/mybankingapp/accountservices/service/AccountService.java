@@ -1,16 +1,39 @@
 package com.mybankingapp.accountservices.service;
 
+import com.mybankingapp.accountservices.config.CacheConfig;
+import com.mybankingapp.accountservices.dto.AccountBalance;
 import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.AccountPage;
+import com.mybankingapp.accountservices.dto.AccountVersion;
+import com.mybankingapp.accountservices.dto.BalanceLookupResult;
 import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
 import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
-import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Random;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -20,43 +43,75 @@ import java.util.UUID;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "account.service", description = "Time spent in AccountService methods")
 public class AccountService {
 
+    /**
+     * Largest page accepted by {@link #getAccountsByCustomer}.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final AccountRepository accountRepository;
 
-    private final Random random = new SecureRandom();
+    private final AccountNumberAllocator accountNumberAllocator;
+
+    private final CacheManager cacheManager;
+
+    private final AccountLoader accountLoader;
+
+    /**
+     * Maximum number of ids bound to a single query of {@link #getBalances}.
+     */
+    private int balanceLookupChunkSize = 500;
+
+    /**
+     * Maximum number of ids accepted by {@link #getBalances}.
+     */
+    @Value("${account.balances.max-size:1000}")
+    private int balanceLookupMaxSize = 1_000;
 
     /**
-     * Generates a unique 10-digit account number.
-     * Ensures the generated account number does not already exist in the repository.
+     * Sets the maximum number of ids bound to a single query of {@link #getBalances}.
      *
-     * @return A unique 10-digit account number as a String.
+     * @param chunkSize The chunk size, at least 1.
      */
-    private String generateUniqueAccountNumber() {
-        String number;
-        do {
-            number = String.format("%010d", random.nextInt(1_000_000_000));
-        } while (accountRepository.existsByAccountNumber(number));
-        return number;
+    @Value("${account.balances.chunk-size:500}")
+    void setBalanceLookupChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("account.balances.chunk-size must be positive");
+        }
+        this.balanceLookupChunkSize = chunkSize;
     }
 
     /**
-     * Creates a new account based on the provided request.
+     * Builds a new, not yet persisted, active account for the given request
+     * with a freshly allocated account number.
      *
      * @param request The account creation request containing account type, initial deposit, and customer ID.
-     * @return The created Account object.
+     * @return The new Account object.
      */
-    public Account createAccount(AccountCreationRequest request) {
-        String accountNumber = generateUniqueAccountNumber();
-
-        Account account = Account.builder()
-                .accountNumber(accountNumber)
+    Account buildAccount(AccountCreationRequest request) {
+        return Account.builder()
+                .accountNumber(accountNumberAllocator.nextAccountNumber())
                 .accountType(request.getAccountType())
-                .balance(request.getInitialDeposit())
+                .balance(Money.of(request.getInitialDeposit()))
                 .customerId(request.getCustomerId())
                 .createdAt(LocalDateTime.now())
                 .active(true)
                 .build();
+    }
+
+    /**
+     * Creates a new account based on the provided request.
+     * The created account is placed in the accounts cache, since it is usually read right after creation.
+     * When called inside a transaction, such as an idempotent registration, the account is only cached once
+     * that transaction commits, so a rollback never leaves a cached account that does not exist.
+     *
+     * @param request The account creation request containing account type, initial deposit, and customer ID.
+     * @return The created Account object.
+     */
+    public Account createAccount(AccountCreationRequest request) {
+        Account account = buildAccount(request);
 
         log.info(">>> Creación de cuenta iniciada para customerId: {}", request.getCustomerId());
         
@@ -64,37 +119,238 @@ public class AccountService {
 
         log.info("<<< {} Cuenta creada exitosamente con número: {}", savedAccount.getId(), savedAccount.getAccountNumber());
 
+        cacheAfterCommit(savedAccount);
         return savedAccount;
     }
 
+    private void cacheAfterCommit(Account account) {
+        Cache cache = cacheManager.getCache(CacheConfig.ACCOUNTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(account.getId(), account);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(account.getId(), account);
+            }
+        });
+    }
+
     /**
      * Retrieves the balance of an active account by its ID.
+     * Results are cached; a missing account is never cached.
+     * Only the balance column is selected, inside a read-only transaction, so no entity
+     * is loaded into the persistence context and no dirty checking takes place.
+     * Cache misses go through the {@link AccountLoader}, so concurrent misses share queries.
      *
      * @param id The UUID of the account.
-     * @return The balance of the account as a BigDecimal.
+     * @return The balance of the account.
      * @throws RuntimeException if the account is not found or is inactive.
      */
-    public BigDecimal getBalance(UUID id) {
-        log.info(">>> Buscando balance para cuenta {}", id);
-        BigDecimal balance = accountRepository.findByIdAndActiveTrue(id)
-                .map(Account::getBalance)
+    @Cacheable(cacheNames = CacheConfig.BALANCES_CACHE, key = "#id")
+    public Money getBalance(UUID id) {
+        log.debug(">>> Buscando balance para cuenta {}", id);
+        Money balance = accountLoader.loadBalance(id)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
-        log.info("<<< Balance encontrado para cuenta {}", id);
+        log.debug("<<< Balance encontrado para cuenta {}", id);
         return balance;
     }
 
+    /**
+     * Retrieves the balances of several active accounts at once.
+     * Balances in the cache are used as they are. The rest are read with one projection query per chunk of
+     * ids, which selects no entity, and are then cached like those of {@link #getBalance}.
+     *
+     * @param ids The UUIDs of the accounts; duplicates are looked up once.
+     * @return The balance of each active account, and the ids that are not found or inactive.
+     * @throws IllegalArgumentException if there are no ids, more than the configured maximum, or a null id.
+     */
+    @Transactional(readOnly = true)
+    public BalanceLookupResult getBalances(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > balanceLookupMaxSize) {
+            throw new IllegalArgumentException("Balance lookup must contain between 1 and " + balanceLookupMaxSize + " ids");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Balance lookup must not contain null ids");
+        }
+        log.debug(">>> Buscando balances de {} cuentas", ids.size());
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        Map<UUID, Money> found = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        Cache cache = cacheManager.getCache(CacheConfig.BALANCES_CACHE);
+        for (UUID id : requested) {
+            Money cached = cache == null ? null : cache.get(id, Money.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += balanceLookupChunkSize) {
+            List<UUID> chunk = missing.subList(from, Math.min(from + balanceLookupChunkSize, missing.size()));
+            for (AccountBalance balance : accountRepository.findBalancesByIdInAndActiveTrue(chunk)) {
+                found.put(balance.getId(), balance.getBalance());
+                if (cache != null) {
+                    cache.put(balance.getId(), balance.getBalance());
+                }
+            }
+        }
+
+        Map<UUID, Money> balances = new LinkedHashMap<>();
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID id : requested) {
+            Money balance = found.get(id);
+            if (balance != null) {
+                balances.put(id, balance);
+            } else {
+                notFound.add(id);
+            }
+        }
+        log.debug("<<< {} balances encontrados, {} cuentas sin balance, {} consultadas en base de datos",
+                balances.size(), notFound.size(), missing.size());
+        return BalanceLookupResult.builder()
+                .balances(balances)
+                .notFound(notFound)
+                .build();
+    }
+
     /**
      * Retrieves an active account by its ID.
+     * Results are cached; a missing account is never cached.
+     * For an account with balance stripes, the returned balance includes them, read in the same
+     * read-only transaction.
+     * Cache misses go through the {@link AccountLoader}, so concurrent misses share queries.
      *
      * @param id The UUID of the account.
      * @return The Account object.
      * @throws RuntimeException if the account is not found or is inactive.
      */
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_CACHE, key = "#id")
     public Account getAccount(UUID id) {
-        log.info(">>> Buscando cuenta {}", id);
-        Account account = accountRepository.findByIdAndActiveTrue(id)
+        log.debug(">>> Buscando cuenta {}", id);
+        Account account = accountLoader.loadAccount(id)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
-        log.info("<<< Cuenta {} encontrada", id);
+        log.debug("<<< Cuenta {} encontrada", id);
         return account;
     }
+
+    /**
+     * Returns the entity tag that {@link #entityTag} gives the account {@link #getAccount} would return,
+     * so a conditional request can be answered without loading and serializing the account.
+     * A cached account is used as is; otherwise only the version is read, plus the balance for an
+     * account with balance stripes, whose updates do not change the version.
+     *
+     * @param id The UUID of the account.
+     * @return The entity tag of the account, without quotes.
+     * @throws RuntimeException if the account is not found or is inactive.
+     */
+    @Transactional(readOnly = true)
+    public String getAccountTag(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.ACCOUNTS_CACHE);
+        Account cached = cache == null ? null : cache.get(id, Account.class);
+        if (cached != null) {
+            return entityTag(cached);
+        }
+        AccountVersion version = accountRepository.findVersionByIdAndActiveTrue(id)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        Money stripedBalance = null;
+        if (version.getBalanceStripes() > 0) {
+            stripedBalance = accountRepository.findBalanceByIdAndActiveTrue(id)
+                    .map(Money::of)
+                    .orElseThrow(() -> new RuntimeException("Account not found"));
+        }
+        return entityTag(version.getVersion(), stripedBalance);
+    }
+
+    /**
+     * Returns the entity tag of an account: its version, and for an account with balance stripes
+     * also its total balance.
+     *
+     * @param account The account, with its total balance.
+     * @return The entity tag, without quotes.
+     */
+    public static String entityTag(Account account) {
+        return entityTag(account.getVersion(), account.getBalanceStripes() > 0 ? account.getBalance() : null);
+    }
+
+    private static String entityTag(Long version, Money stripedBalance) {
+        String tag = String.valueOf(version == null ? 0 : version);
+        return stripedBalance == null ? tag : tag + "-" + stripedBalance.toStrippedString();
+    }
+
+    /**
+     * Lists the active accounts of a customer in creation order, one page at a time.
+     * Pages are read with keyset pagination: the cursor holds the creation time and id of the last account
+     * of the previous page, and the next page seeks past it on the {@code (customer_id, created_at, id)}
+     * index, so a deep page costs the same as the first one.
+     *
+     * @param customerId The UUID of the customer.
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param limit The maximum number of accounts in the page, between 1 and {@link #MAX_PAGE_SIZE}.
+     * @return The page of accounts.
+     * @throws IllegalArgumentException if the limit is out of range or the cursor is not valid.
+     */
+    @Transactional(readOnly = true)
+    public AccountPage getAccountsByCustomer(UUID customerId, String cursor, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.debug(">>> Listando cuentas del cliente {}", customerId);
+        // One extra row tells whether there is a next page without a count query.
+        Limit fetch = Limit.of(limit + 1);
+        List<Account> accounts;
+        if (cursor == null) {
+            accounts = accountRepository.findByCustomerId(customerId, fetch);
+        } else {
+            Account last = decodeCursor(cursor);
+            accounts = accountRepository.findByCustomerIdAfter(customerId, last.getCreatedAt(), last.getId(), fetch);
+        }
+
+        String nextCursor = null;
+        if (accounts.size() > limit) {
+            accounts = accounts.subList(0, limit);
+            nextCursor = encodeCursor(accounts.get(limit - 1));
+        }
+        Map<UUID, Account> striped = new HashMap<>();
+        for (Account account : accounts) {
+            if (account.getBalanceStripes() > 0) {
+                striped.put(account.getId(), account);
+            }
+        }
+        if (!striped.isEmpty()) {
+            for (AccountBalance balance : accountRepository.findBalancesByIdInAndActiveTrue(striped.keySet())) {
+                striped.get(balance.getId()).setBalance(balance.getBalance());
+            }
+        }
+        log.debug("<<< {} cuentas del cliente {}", accounts.size(), customerId);
+        return AccountPage.builder()
+                .accounts(accounts)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    static String encodeCursor(Account account) {
+        String position = account.getCreatedAt() + "|" + account.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into an account holding only the creation time and id it points after.
+     */
+    static Account decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return Account.builder()
+                    .createdAt(LocalDateTime.parse(position.substring(0, separator)))
+                    .id(UUID.fromString(position.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
 }
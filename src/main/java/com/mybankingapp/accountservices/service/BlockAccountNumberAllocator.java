@@ -0,0 +1,119 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import com.mybankingapp.accountservices.utils.LuhnCheckDigit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocator that reserves blocks of account numbers from the {@code account_number_seq} sequence
+ * and hands them out from memory without locking or querying the database.
+ *
+ * <p>An account number is a 9-digit sequence value followed by a Luhn check digit. Sequence values
+ * start at 100000000, so allocated numbers never begin with 0 and cannot collide with numbers
+ * produced by {@link RandomAccountNumberAllocator}, which always do. Numbers left in a block when the
+ * instance stops are never reused.</p>
+ *
+ * <p>A reservation is a single {@code nextval} on the caller's connection, so it needs no second pooled
+ * connection and no row lock. The sequence increments by the block size, which must equal
+ * {@code account.number.block-size}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.number.allocator", havingValue = "block", matchIfMissing = true)
+public class BlockAccountNumberAllocator implements AccountNumberAllocator {
+
+    public static final long FIRST_VALUE = 100_000_000L;
+
+    public static final long MAX_VALUE = 999_999_999L;
+
+    private final AccountRepository accountRepository;
+
+    private final int blockSize;
+
+    private final Counter reservations;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    /**
+     * Serializes block reservations within this instance. A {@link ReentrantLock} rather than
+     * {@code synchronized}, so a virtual thread waiting on the database does not pin its carrier.
+     */
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public BlockAccountNumberAllocator(AccountRepository accountRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${account.number.block-size:1000}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("account.number.block-size must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+        this.reservations = Counter.builder("account.number.block.reservations")
+                .description("Blocks of account numbers reserved from the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String nextAccountNumber() {
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long value = block.cursor.getAndIncrement();
+                if (value < block.end) {
+                    return format(value);
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current.get() == exhausted) {
+                current.set(reserveBlock());
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserveBlock() {
+        long start = accountRepository.nextAccountNumberBlock();
+        if (start > MAX_VALUE) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        Block block = new Block(start, Math.min(start + blockSize, MAX_VALUE + 1));
+        reservations.increment();
+        log.info("Bloque de números de cuenta reservado: [{}, {})", block.start, block.end);
+        return block;
+    }
+
+    /**
+     * Formats a sequence value as an account number: the value followed by its Luhn check digit.
+     */
+    public static String format(long value) {
+        return Long.toString(value * 10 + LuhnCheckDigit.compute(value));
+    }
+
+    private static final class Block {
+        private final long start;
+        private final long end;
+        private final AtomicLong cursor;
+
+        private Block(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.cursor = new AtomicLong(start);
+        }
+    }
+}
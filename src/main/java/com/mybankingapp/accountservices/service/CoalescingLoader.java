@@ -0,0 +1,194 @@
+package com.mybankingapp.accountservices.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loader that coalesces concurrent lookups by key, in the style of a DataLoader.
+ *
+ * <p>Concurrent lookups of the same key share one future. Lookups of different keys join a batch, loaded
+ * with a single call once the batch is full or its window has passed. No thread is added: the first lookup of
+ * a batch waits for the window and then loads the whole batch itself. It only waits while other lookups are
+ * running, so a lookup under low traffic is loaded at once.</p>
+ *
+ * <p>Lookups are grouped by lane, and a batch is loaded in the context of its first lookup. Lookups whose
+ * results depend on that context, such as the client deciding which database serves the read, must be in
+ * different lanes.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class CoalescingLoader<K, V> {
+
+    private static final Object NO_LANE = new Object();
+
+    private record LaneKey<K>(Object lane, K key) {
+    }
+
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> entries = new LinkedHashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+
+    private final Function<List<K>, Map<K, V>> batchLoader;
+
+    private final Supplier<Object> lane;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final Map<LaneKey<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<Object, Batch<K, V>> openBatches = new HashMap<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final Counter coalesced;
+
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Creates a loader.
+     *
+     * @param name the name of the loader, used as the {@code loader} tag of its metrics
+     * @param batchLoader loads the values of a batch of distinct keys; keys without value are left out of the map
+     * @param lane returns the lane of the lookup made by the current thread, or {@code null}
+     * @param window how long a batch waits for more keys while other lookups are running
+     * @param maxBatchSize the number of keys that loads a batch without waiting for the window
+     * @param meterRegistry the registry where coalesced lookups and batch sizes are recorded
+     */
+    public CoalescingLoader(String name, Function<List<K>, Map<K, V>> batchLoader, Supplier<Object> lane,
+                            Duration window, int maxBatchSize, MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1");
+        }
+        this.batchLoader = batchLoader;
+        this.lane = lane;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.coalesced = Counter.builder("account.loader.coalesced")
+                .tag("loader", name)
+                .description("Lookups answered by a lookup of the same key already running")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("account.loader.batch.size")
+                .tag("loader", name)
+                .description("Distinct keys loaded per batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the value of a key, loading it with a batch or waiting for a lookup of the same key already running.
+     *
+     * @param key the key to look up
+     * @return the value, or {@code null} if the batch loader returned none for the key
+     */
+    public V load(K key) {
+        Object currentLane = lane.get();
+        if (currentLane == null) {
+            currentLane = NO_LANE;
+        }
+        LaneKey<K> laneKey = new LaneKey<>(currentLane, key);
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(laneKey, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        running.incrementAndGet();
+        try {
+            Batch<K, V> batch = join(currentLane, key, future);
+            if (batch != null) {
+                loadBatch(currentLane, batch);
+            }
+            return await(future);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Adds the key to the open batch of the lane, or opens a new one.
+     *
+     * @return the new batch, which the caller must load, or {@code null} if the key joined an open batch
+     */
+    private Batch<K, V> join(Object currentLane, K key, CompletableFuture<V> future) {
+        synchronized (openBatches) {
+            Batch<K, V> batch = openBatches.get(currentLane);
+            if (batch != null) {
+                batch.entries.put(key, future);
+                if (batch.entries.size() >= maxBatchSize) {
+                    openBatches.remove(currentLane);
+                    batch.full.countDown();
+                }
+                return null;
+            }
+            batch = new Batch<>();
+            batch.entries.put(key, future);
+            if (maxBatchSize > 1) {
+                openBatches.put(currentLane, batch);
+            }
+            return batch;
+        }
+    }
+
+    private void loadBatch(Object currentLane, Batch<K, V> batch) {
+        if (windowNanos > 0 && running.get() > 1) {
+            try {
+                batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<K> keys;
+        synchronized (openBatches) {
+            openBatches.remove(currentLane, batch);
+            keys = new ArrayList<>(batch.entries.keySet());
+        }
+        batchSizes.record(keys.size());
+
+        Map<K, V> values;
+        try {
+            values = batchLoader.apply(keys);
+        } catch (RuntimeException | Error ex) {
+            // Every lookup of the batch is waiting on its future, so all of them must fail, not just this one.
+            batch.entries.forEach((key, future) -> {
+                inFlight.remove(new LaneKey<>(currentLane, key), future);
+                future.completeExceptionally(ex);
+            });
+            return;
+        }
+        batch.entries.forEach((key, future) -> {
+            inFlight.remove(new LaneKey<>(currentLane, key), future);
+            future.complete(values.get(key));
+        });
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
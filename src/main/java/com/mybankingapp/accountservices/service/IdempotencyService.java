@@ -0,0 +1,223 @@
+package com.mybankingapp.accountservices.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mybankingapp.accountservices.exception.IdempotencyKeyInProgressException;
+import com.mybankingapp.accountservices.model.IdempotencyRecord;
+import com.mybankingapp.accountservices.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Service class that runs a request at most once per {@code Idempotency-Key} and answers its retries
+ * with the stored response.
+ *
+ * <p>Responses are kept in a bounded, expiring in-memory cache in front of the {@code idempotency_record}
+ * table. The cache also holds the requests still running on this instance, so concurrent duplicates wait
+ * for the first one instead of running again. Across instances, the first request claims the key by
+ * inserting its record before running; a duplicate arriving meanwhile elsewhere gets an
+ * {@link IdempotencyKeyInProgressException}. The request and its response are committed in one transaction,
+ * and a failed request releases the key, so only successful responses are replayed.</p>
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    /**
+     * Longest key accepted from clients.
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * The response of a request, and whether it was replayed from a previous request with the same key.
+     */
+    public record Outcome<T>(T response, boolean replayed) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final AsyncCache<String, IdempotencyRecord> records;
+
+    private final Duration ttl;
+
+    private final Duration lease;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${account.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${account.idempotency.lease:PT1M}") Duration lease,
+                              @Value("${account.idempotency.max-entries:10000}") long maxEntries) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        // Futures that complete exceptionally are removed by Caffeine, so failures are never replayed.
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    /**
+     * Runs the action unless a request with the same key already did, in which case its response is returned.
+     *
+     * @param clientId The client sending the request, or {@code null}; keys are scoped by client.
+     * @param key The {@code Idempotency-Key} sent by the client.
+     * @param request The request body, to detect a key reused for a different request.
+     * @param responseType The type of the response, to read stored responses back.
+     * @param action The request to run; it joins the transaction that stores its response.
+     * @return The response and whether it was replayed.
+     * @throws IllegalArgumentException if the key is invalid or was used for a different request.
+     * @throws IdempotencyKeyInProgressException if the first request with the key is running on another instance.
+     */
+    public <T> Outcome<T> execute(String clientId, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = (clientId == null ? "" : clientId) + ":" + key;
+        String requestHash = hash(request);
+
+        CompletableFuture<IdempotencyRecord> running = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> previous = records.asMap().putIfAbsent(scopedKey, running);
+        if (previous != null) {
+            log.info("Solicitud repetida con Idempotency-Key {}, se responde con el resultado de la primera", key);
+            return toOutcome(await(previous), requestHash, responseType, true);
+        }
+        try {
+            Optional<IdempotencyRecord> stored = findStored(scopedKey);
+            if (stored.isPresent()) {
+                running.complete(stored.get());
+                return toOutcome(stored.get(), requestHash, responseType, true);
+            }
+            claim(scopedKey, requestHash);
+            IdempotencyRecord completed;
+            try {
+                completed = transactionTemplate.execute(status -> complete(scopedKey, action.get()));
+            } catch (RuntimeException ex) {
+                release(scopedKey);
+                throw ex;
+            }
+            running.complete(completed);
+            return toOutcome(completed, requestHash, responseType, false);
+        } catch (RuntimeException ex) {
+            running.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Deletes the expired records, including claims left behind by instances that stopped mid-request.
+     */
+    @Scheduled(fixedDelayString = "${account.idempotency.purge-interval:PT1H}",
+            initialDelayString = "${account.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteAllExpired(LocalDateTime.now()));
+        if (deleted != null && deleted > 0) {
+            log.info("Eliminados {} registros de idempotencia expirados", deleted);
+        }
+    }
+
+    private Optional<IdempotencyRecord> findStored(String scopedKey) {
+        // Read in a read-write transaction, so it is served by the primary even when a read replica is configured.
+        Optional<IdempotencyRecord> stored = transactionTemplate.execute(status -> repository.findById(scopedKey))
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()));
+        if (stored.isPresent() && stored.get().getCompletedAt() == null) {
+            throw new IdempotencyKeyInProgressException();
+        }
+        return stored;
+    }
+
+    private void claim(String scopedKey, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.deleteExpired(scopedKey, now);
+                repository.insertClaim(scopedKey, requestHash, now, now.plus(lease));
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new IdempotencyKeyInProgressException();
+        }
+    }
+
+    private IdempotencyRecord complete(String scopedKey, Object response) {
+        IdempotencyRecord record = repository.findById(scopedKey)
+                .orElseThrow(() -> new IllegalStateException("Idempotency record " + scopedKey + " was removed while running"));
+        LocalDateTime now = LocalDateTime.now();
+        record.setResponseBody(toJson(response));
+        record.setCompletedAt(now);
+        record.setExpiresAt(now.plus(ttl));
+        return record;
+    }
+
+    private void release(String scopedKey) {
+        try {
+            repository.deleteById(scopedKey);
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo liberar la Idempotency-Key {}, quedará libre al expirar", scopedKey, ex);
+        }
+    }
+
+    private <T> Outcome<T> toOutcome(IdempotencyRecord record, String requestHash, Class<T> responseType, boolean replayed) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return new Outcome<>(objectMapper.readValue(record.getResponseBody(), responseType), replayed);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored response of " + record.getIdempotencyKey() + " is not readable", ex);
+        }
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Response can not be stored as JSON", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Request can not be hashed", ex);
+        }
+    }
+}
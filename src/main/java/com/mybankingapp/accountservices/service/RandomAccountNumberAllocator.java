@@ -0,0 +1,50 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Random;
+
+/**
+ * Legacy allocator that draws random numbers and checks each one against the repository.
+ * Costs at least one query per account and degrades as the number space fills up;
+ * kept for compatibility and as a benchmark baseline.
+ */
+@Component
+@ConditionalOnProperty(name = "account.number.allocator", havingValue = "random")
+public class RandomAccountNumberAllocator implements AccountNumberAllocator {
+
+    private final AccountRepository accountRepository;
+
+    private final Random random = new SecureRandom();
+
+    private final Counter retries;
+
+    public RandomAccountNumberAllocator(AccountRepository accountRepository, MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.retries = Counter.builder("account.number.retries")
+                .description("Account number allocation attempts that had to be retried")
+                .tag("allocator", "random")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generates a unique 10-digit account number.
+     * Ensures the generated account number does not already exist in the repository.
+     *
+     * @return A unique 10-digit account number as a String.
+     */
+    @Override
+    public String nextAccountNumber() {
+        String number = String.format("%010d", random.nextInt(1_000_000_000));
+        while (accountRepository.existsByAccountNumber(number)) {
+            retries.increment();
+            number = String.format("%010d", random.nextInt(1_000_000_000));
+        }
+        return number;
+    }
+}
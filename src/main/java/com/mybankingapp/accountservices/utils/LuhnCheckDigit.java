@@ -0,0 +1,52 @@
+package com.mybankingapp.accountservices.utils;
+
+/**
+ * Utility class for computing and verifying Luhn (mod 10) check digits.
+ */
+public final class LuhnCheckDigit {
+
+    private LuhnCheckDigit() {
+    }
+
+    /**
+     * Computes the Luhn check digit for the given non-negative number.
+     *
+     * @param number the number without its check digit
+     * @return the check digit, between 0 and 9
+     */
+    public static int compute(long number) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (long rest = number; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Checks whether the last digit of the given string is a valid Luhn check digit.
+     *
+     * @param digits the number including its check digit
+     * @return true if the string is made of digits and its check digit is valid
+     */
+    public static boolean isValid(String digits) {
+        if (digits == null || digits.length() < 2 || digits.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return false;
+            }
+        }
+        long number = Long.parseLong(digits, 0, digits.length() - 1, 10);
+        return compute(number) == digits.charAt(digits.length() - 1) - '0';
+    }
+}
@@ -0,0 +1,5 @@
+-- Validated in a transaction of its own, after V9 committed, so only a share update exclusive lock is held
+-- while the existing rows are checked.
+alter table account validate constraint ck_account_balance_precision;
+
+alter table account_balance_stripe validate constraint ck_account_balance_stripe_balance_precision;
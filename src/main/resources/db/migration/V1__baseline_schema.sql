@@ -0,0 +1,16 @@
+-- The account table as Hibernate created it with ddl-auto=update before migrations were introduced.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and only run the migrations after it, which add everything introduced since.
+
+create table account (
+    id             uuid           not null,
+    account_number varchar(10),
+    account_type   varchar(255),
+    balance        numeric(38, 2),
+    created_at     timestamp(6),
+    active         boolean        not null,
+    customer_id    uuid           not null,
+    constraint pk_account primary key (id),
+    constraint uk_account_account_number unique (account_number),
+    constraint uk_account_customer_id unique (customer_id)
+);
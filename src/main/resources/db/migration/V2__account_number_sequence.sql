@@ -0,0 +1,3 @@
+-- Each service instance reserves a block of account numbers with one nextval, which returns the first value
+-- of the block. The increment is the block size and must match account.number.block-size.
+create sequence account_number_seq start with 100000000 increment by 1000 minvalue 100000000 no cycle;
@@ -0,0 +1,10 @@
+-- API keys are stored as SHA-256 hashes, one client per row.
+create table api_key (
+    id         uuid         not null,
+    client_id  varchar(100) not null,
+    key_hash   varchar(64)  not null,
+    active     boolean      not null,
+    expires_at timestamp(6),
+    constraint pk_api_key primary key (id),
+    constraint uk_api_key_key_hash unique (key_hash)
+);
@@ -0,0 +1,14 @@
+-- Optimistic locking of balance mutations, and balance stripes for hot accounts.
+-- Both columns have a constant default, so adding them does not rewrite the table.
+alter table account
+    add column version         bigint  default 0,
+    add column balance_stripes integer default 0 not null;
+
+create table account_balance_stripe (
+    id         uuid           not null,
+    account_id uuid           not null,
+    stripe     integer        not null,
+    balance    numeric(38, 2) not null,
+    constraint pk_account_balance_stripe primary key (id),
+    constraint uk_account_balance_stripe_account_stripe unique (account_id, stripe)
+);
@@ -0,0 +1,19 @@
+-- A customer can hold several accounts. The baseline schema has a unique constraint on account.customer_id,
+-- which databases created by Hibernate have under a generated name, so it is looked up by its column.
+do $$
+declare
+    unique_constraint text;
+begin
+    for unique_constraint in
+        select c.conname
+        from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+        where c.conrelid = 'account'::regclass
+          and c.contype = 'u'
+          and cardinality(c.conkey) = 1
+          and a.attname = 'customer_id'
+    loop
+        execute format('alter table account drop constraint %I', unique_constraint);
+    end loop;
+end
+$$;
@@ -0,0 +1,11 @@
+-- Checkpoints of the bulk import, one row per committed chunk of a file.
+create table account_import_chunk (
+    id            uuid         not null,
+    import_id     varchar(300) not null,
+    start_offset  bigint       not null,
+    imported_rows integer      not null,
+    rejected_rows integer      not null,
+    completed_at  timestamp(6) not null,
+    constraint pk_account_import_chunk primary key (id),
+    constraint uk_account_import_chunk_import_offset unique (import_id, start_offset)
+);
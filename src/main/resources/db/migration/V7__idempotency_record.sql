@@ -0,0 +1,12 @@
+-- Results of registrations sent with an Idempotency-Key, kept until they expire.
+create table idempotency_record (
+    idempotency_key varchar(400)  not null,
+    request_hash    varchar(64)   not null,
+    response_body   varchar(4000),
+    created_at      timestamp(6)  not null,
+    completed_at    timestamp(6),
+    expires_at      timestamp(6)  not null,
+    constraint pk_idempotency_record primary key (idempotency_key)
+);
+
+create index idx_idempotency_record_expires on idempotency_record (expires_at);
@@ -0,0 +1,8 @@
+-- Lookups only ever read active accounts, so their indexes leave inactive ones out.
+-- Balance reads by id are answered from the index alone; the customer listing walks it in page order.
+-- Built concurrently, so Flyway runs this migration outside a transaction and writes are not blocked.
+create index concurrently if not exists idx_account_active_balance
+    on account (id) include (balance, balance_stripes) where active;
+
+create index concurrently if not exists idx_account_customer_active
+    on account (customer_id, created_at, id) where active;
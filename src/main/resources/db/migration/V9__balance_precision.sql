@@ -0,0 +1,10 @@
+-- Balances are mapped to a long number of cents, so they must fit in numeric(18, 2).
+-- Changing the column type would rewrite the tables under an exclusive lock; a check constraint added
+-- as not valid only takes it briefly, and V10 validates the existing rows without blocking writes.
+alter table account
+    add constraint ck_account_balance_precision
+    check (balance between -9999999999999999.99 and 9999999999999999.99) not valid;
+
+alter table account_balance_stripe
+    add constraint ck_account_balance_stripe_balance_precision
+    check (balance between -9999999999999999.99 and 9999999999999999.99) not valid;
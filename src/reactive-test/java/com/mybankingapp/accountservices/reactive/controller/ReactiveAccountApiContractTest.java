@@ -0,0 +1,22 @@
+package com.mybankingapp.accountservices.reactive.controller;
+
+import com.mybankingapp.accountservices.controller.AccountApiContract;
+import com.mybankingapp.accountservices.reactive.ReactiveAccountServicesApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the account API contract against the WebFlux and R2DBC application, on an in-memory H2 database
+ * with the tables it uses.
+ */
+@SpringBootTest(classes = ReactiveAccountServicesApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivecontract?options=DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:reactive-schema.sql"})
+@ActiveProfiles({"test", "reactive"})
+class ReactiveAccountApiContractTest extends AccountApiContract {
+}
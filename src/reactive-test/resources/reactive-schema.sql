@@ -0,0 +1,35 @@
+-- Tables used by the reactive application, as created by the migrations in db/migration.
+create table account (
+    id              uuid           not null,
+    account_number  varchar(10),
+    account_type    varchar(255),
+    balance         numeric(18, 2),
+    created_at      timestamp(6),
+    active          boolean        not null,
+    customer_id     uuid           not null,
+    version         bigint         default 0,
+    balance_stripes integer        default 0 not null,
+    constraint pk_account primary key (id),
+    constraint uk_account_account_number unique (account_number)
+);
+
+create table account_balance_stripe (
+    id         uuid           not null,
+    account_id uuid           not null,
+    stripe     integer        not null,
+    balance    numeric(18, 2) not null,
+    constraint pk_account_balance_stripe primary key (id),
+    constraint uk_account_balance_stripe_account_stripe unique (account_id, stripe)
+);
+
+create sequence account_number_seq start with 100000000 increment by 1000 minvalue 100000000 no cycle;
+
+create table api_key (
+    id         uuid         not null,
+    client_id  varchar(100) not null,
+    key_hash   varchar(64)  not null,
+    active     boolean      not null,
+    expires_at timestamp(6),
+    constraint pk_api_key primary key (id),
+    constraint uk_api_key_key_hash unique (key_hash)
+);
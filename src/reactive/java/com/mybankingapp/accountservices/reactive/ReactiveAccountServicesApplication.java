@@ -0,0 +1,35 @@
+package com.mybankingapp.accountservices.reactive;
+
+import com.mybankingapp.accountservices.config.ApiKeyStore;
+import com.mybankingapp.accountservices.config.FileApiKeySource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * WebFlux and R2DBC variant of the account API, built with the {@code reactive} Maven profile.
+ * It serves the registration, account and balance endpoints of the servlet application on the same
+ * database, whose schema is still owned by the migrations of the servlet application.
+ *
+ * <p>The servlet stack is on the classpath as well, so the {@code reactive} Spring profile selects the
+ * reactive web application type, and JDBC, JPA and Flyway are not configured.</p>
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class})
+@Import({ApiKeyStore.class, FileApiKeySource.class})
+@EnableScheduling
+@Slf4j
+public class ReactiveAccountServicesApplication {
+
+    public static void main(String[] args) {
+        log.info("Iniciando aplicación Accountservices reactiva");
+        SpringApplication application = new SpringApplication(ReactiveAccountServicesApplication.class);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mybankingapp.accountservices.reactive.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybankingapp.accountservices.config.ApiKeyFilter;
+import com.mybankingapp.accountservices.config.ApiKeyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link ApiKeyFilter}: checks the API key of every request under {@code /api/v1/},
+ * answers 401 with the same body when it is missing or invalid, and stores the client that owns it in the
+ * {@value ApiKeyFilter#CLIENT_ID_ATTRIBUTE} exchange attribute. The key lookup is in memory, so the filter
+ * never blocks the event loop.
+ */
+@Slf4j
+public class ReactiveApiKeyFilter implements WebFilter {
+
+    private static final String API_KEY_HEADER = "x-api-key";
+
+    private final ApiKeyStore apiKeyStore;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    public ReactiveApiKeyFilter(ApiKeyStore apiKeyStore, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.apiKeyStore = apiKeyStore;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!path.startsWith("/api/v1/")) {
+            return chain.filter(exchange);
+        }
+
+        log.debug(">>> Validando API key para la solicitud {}", path);
+        String apiKeyHeader = exchange.getRequest().getHeaders().getFirst(API_KEY_HEADER);
+        if (apiKeyHeader == null) {
+            countRejection("missing");
+            return sendUnauthorizedResponse(exchange.getResponse(), "Unauthorized: No API key found in request headers");
+        }
+
+        String clientId = apiKeyStore.findClientId(apiKeyHeader);
+        if (clientId == null) {
+            log.warn("<<< API key inválida");
+            countRejection("invalid");
+            return sendUnauthorizedResponse(exchange.getResponse(), "Unauthorized: Invalid API key");
+        }
+
+        log.debug("<<< API key válida del cliente {}, continuando con la cadena de filtros", clientId);
+        exchange.getAttributes().put(ApiKeyFilter.CLIENT_ID_ATTRIBUTE, clientId);
+        return chain.filter(exchange);
+    }
+
+    private void countRejection(String reason) {
+        meterRegistry.counter("api.key.rejections", "reason", reason).increment();
+    }
+
+    private Mono<Void> sendUnauthorizedResponse(ServerHttpResponse response, String message) {
+        log.warn("Enviando respuesta no autorizada: {}", message);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(Map.of("message", message));
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,44 @@
+package com.mybankingapp.accountservices.reactive.config;
+
+import com.mybankingapp.accountservices.config.ApiKeySource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads the active, non-expired keys from the {@code api_key} table through R2DBC.
+ * The keys are only read by {@link com.mybankingapp.accountservices.config.ApiKeyStore} at startup and on
+ * its refresh schedule, never on the event loop, so waiting for the result is acceptable here.
+ *
+ * <p>Unlike JPA repositories, a {@link DatabaseClient} is not ordered after the database initializers, so
+ * the dependency is declared here; otherwise the store's first load would run before the schema exists.</p>
+ */
+@Component
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "api.keys.store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveDatabaseApiKeySource implements ApiKeySource {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Map<String, String> loadKeyHashes() {
+        return databaseClient.sql("""
+                        select key_hash, client_id from api_key
+                        where active = true and (expires_at is null or expires_at > :now)""")
+                .bind("now", LocalDateTime.now())
+                .map(row -> Map.entry(row.get("key_hash", String.class), row.get("client_id", String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new)
+                .block(TIMEOUT);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mybankingapp.accountservices.reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybankingapp.accountservices.config.ApiKeyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+
+/**
+ * Security and web server configuration of the reactive application, mirroring
+ * {@link com.mybankingapp.accountservices.config.SecurityConfig}.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Serves the application on Netty. Tomcat is on the classpath too, and would otherwise be preferred.
+     *
+     * @return the Netty server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Configures the security filter chain. The API key filter is created here rather than declared as a bean,
+     * so it only runs inside the chain.
+     *
+     * @param http the ServerHttpSecurity object to configure
+     * @param apiKeyStore the store holding the accepted API keys
+     * @param meterRegistry the registry where rejected requests are counted
+     * @param objectMapper the application's ObjectMapper, used to write the 401 body
+     * @return the configured SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ApiKeyStore apiKeyStore,
+                                                         MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers("/api/v1/accounts/**").permitAll()
+                        .pathMatchers("/error").permitAll()
+                        .pathMatchers("/actuator/**").permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(new ReactiveApiKeyFilter(apiKeyStore, meterRegistry, objectMapper), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Configures CORS settings for the application.
+     *
+     * @return the configured CorsConfigurationSource
+     */
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(Arrays.asList("http://learning-apibank.cloud", "http://localhost:8083"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
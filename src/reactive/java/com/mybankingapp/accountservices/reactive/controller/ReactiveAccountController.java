@@ -0,0 +1,100 @@
+package com.mybankingapp.accountservices.reactive.controller;
+
+import com.mybankingapp.accountservices.controller.AccountController;
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.reactive.service.ReactiveAccountService;
+import com.mybankingapp.accountservices.service.AccountService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of the registration, account and balance endpoints of {@link AccountController},
+ * with the same paths, status codes, bodies and entity tags.
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    /**
+     * Endpoint to register a new account.
+     *
+     * @param request The request object containing the necessary details to create an account.
+     *                Must be valid according to validation annotations.
+     * @return An HTTP response with status CREATED and the created account object.
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<Account>> createAccount(@Valid @RequestBody AccountCreationRequest request) {
+        log.info(">>> Solicitud de creación de cuenta recibida");
+        return accountService.createAccount(request)
+                .doOnNext(created -> log.info("<<< Cuenta creada: {}", created.getId()))
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    /**
+     * Endpoint to retrieve the balance of an active account.
+     * The balance and its entity tag come from the same read of the account, and the tag is the account's,
+     * as in {@link AccountService#entityTag}, so a request with a matching {@code If-None-Match} gets a 304
+     * without a body.
+     *
+     * @param id The UUID of the account whose balance is to be retrieved.
+     * @param exchange The exchange, for its conditional headers.
+     * @return An HTTP response with the account balance, or empty when not modified.
+     */
+    @GetMapping("/{id}/balance")
+    public Mono<ResponseEntity<Money>> getBalance(@PathVariable UUID id, ServerWebExchange exchange) {
+        log.debug(">>> Consultando balance para cuenta {}", id);
+        return accountService.getAccount(id)
+                .flatMap(account -> {
+                    String tag = AccountService.entityTag(account);
+                    if (exchange.checkNotModified(tag)) {
+                        log.debug("<<< Balance de la cuenta {} sin cambios", id);
+                        return Mono.empty();
+                    }
+                    log.debug("<<< Balance obtenido para cuenta {}", id);
+                    return Mono.just(ResponseEntity.ok().eTag(tag).body(account.getBalance()));
+                });
+    }
+
+    /**
+     * Endpoint to retrieve the details of an active account.
+     * The entity tag is derived from the account version, as in {@link AccountService#entityTag}, and a
+     * request with a matching {@code If-None-Match} gets a 304 without a body.
+     *
+     * @param id The UUID of the account to be retrieved.
+     * @param exchange The exchange, for its conditional headers.
+     * @return An HTTP response with the account object, or empty when not modified.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Account>> getAccount(@PathVariable UUID id, ServerWebExchange exchange) {
+        log.debug(">>> Consultando datos de la cuenta {}", id);
+        return accountService.getAccount(id)
+                .flatMap(account -> {
+                    String tag = AccountService.entityTag(account);
+                    if (exchange.checkNotModified(tag)) {
+                        log.debug("<<< Cuenta {} sin cambios", id);
+                        return Mono.empty();
+                    }
+                    log.debug("<<< Cuenta {} recuperada", id);
+                    return Mono.just(ResponseEntity.ok().eTag(tag).body(account));
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package com.mybankingapp.accountservices.reactive.repository;
+
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the {@link AccountRepository} queries used by the registration, account and
+ * balance endpoints. Rows are mapped to the JPA {@link Account}, so both stacks return the same JSON.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAccountRepository {
+
+    private static final String STRIPED_BALANCE = """
+            a.balance + coalesce((select sum(s.balance) from account_balance_stripe s where s.account_id = a.id), 0)""";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Finds an active account. For an account with balance stripes, the balance includes them.
+     *
+     * @param id The UUID of the account.
+     * @return The account, or empty if it is not found or is inactive.
+     */
+    public Mono<Account> findByIdAndActiveTrue(UUID id) {
+        return databaseClient.sql("""
+                        select a.id, a.account_number, a.account_type, a.created_at, a.active, a.customer_id,
+                               a.version, a.balance_stripes,
+                               case when a.balance_stripes > 0 then %s else a.balance end as balance
+                        from account a where a.id = :id and a.active = true""".formatted(STRIPED_BALANCE))
+                .bind("id", id)
+                .map(ReactiveAccountRepository::toAccount)
+                .one();
+    }
+
+    /**
+     * Inserts a new account. The id and version must already be set.
+     *
+     * @param account The account to insert.
+     * @return The inserted account.
+     */
+    public Mono<Account> insert(Account account) {
+        return databaseClient.sql("""
+                        insert into account (id, account_number, account_type, balance, created_at, active, customer_id,
+                                             version, balance_stripes)
+                        values (:id, :accountNumber, :accountType, :balance, :createdAt, :active, :customerId,
+                                :version, :balanceStripes)""")
+                .bind("id", account.getId())
+                .bind("accountNumber", account.getAccountNumber())
+                .bind("accountType", account.getAccountType())
+                .bind("balance", account.getBalance().toBigDecimal())
+                .bind("createdAt", account.getCreatedAt())
+                .bind("active", account.isActive())
+                .bind("customerId", account.getCustomerId())
+                .bind("version", account.getVersion())
+                .bind("balanceStripes", account.getBalanceStripes())
+                .then()
+                .thenReturn(account);
+    }
+
+    /**
+     * Reserves the next block of account numbers from {@code account_number_seq}.
+     *
+     * @return The first value of the block.
+     */
+    public Mono<Long> nextAccountNumberBlock() {
+        return databaseClient.sql("select nextval('account_number_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static Account toAccount(Readable row) {
+        return Account.builder()
+                .id(row.get("id", UUID.class))
+                .accountNumber(row.get("account_number", String.class))
+                .accountType(row.get("account_type", String.class))
+                .balance(Money.of(row.get("balance", BigDecimal.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .active(Boolean.TRUE.equals(row.get("active", Boolean.class)))
+                .customerId(row.get("customer_id", UUID.class))
+                .version(row.get("version", Long.class))
+                .balanceStripes(row.get("balance_stripes", Integer.class))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.mybankingapp.accountservices.reactive.service;
+
+import com.mybankingapp.accountservices.reactive.repository.ReactiveAccountRepository;
+import com.mybankingapp.accountservices.service.BlockAccountNumberAllocator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Non-blocking counterpart of {@link BlockAccountNumberAllocator}. It reserves blocks from the same
+ * {@code account_number_seq} sequence and formats numbers the same way, so servlet and reactive instances can
+ * share a database without handing out the same number.
+ *
+ * <p>Numbers are handed out from memory. When the block runs out, one reservation runs at a time and the
+ * lookups arriving meanwhile wait for it without holding a thread.</p>
+ */
+@Slf4j
+@Component
+public class ReactiveAccountNumberAllocator {
+
+    private final ReactiveAccountRepository accountRepository;
+
+    private final int blockSize;
+
+    private final Counter reservations;
+
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<Void>> refilling = new AtomicReference<>();
+
+    public ReactiveAccountNumberAllocator(ReactiveAccountRepository accountRepository,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${account.number.block-size:1000}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("account.number.block-size must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+        this.reservations = Counter.builder("account.number.block.reservations")
+                .description("Blocks of account numbers reserved from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Allocates a new account number that has not been handed out before.
+     *
+     * @return A unique 10-digit account number as a String.
+     */
+    public Mono<String> nextAccountNumber() {
+        return Mono.defer(() -> {
+            Block block = current.get();
+            if (block != null) {
+                long value = block.cursor.getAndIncrement();
+                if (value < block.end) {
+                    return Mono.just(BlockAccountNumberAllocator.format(value));
+                }
+            }
+            return refill(block).then(nextAccountNumber());
+        });
+    }
+
+    private Mono<Void> refill(Block exhausted) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> refill = new CompletableFuture<>();
+            CompletableFuture<Void> pending = refilling.compareAndExchange(null, refill);
+            if (pending != null) {
+                // A reservation cancelled by its caller completes exceptionally; the waiters then try again.
+                return Mono.fromFuture(pending, true).onErrorResume(CancellationException.class, ex -> Mono.empty());
+            }
+            if (current.get() != exhausted) {
+                refilling.compareAndSet(refill, null);
+                refill.complete(null);
+                return Mono.empty();
+            }
+            return reserveBlock()
+                    .doOnNext(current::set)
+                    .then()
+                    .doOnSuccess(ignored -> {
+                        refilling.compareAndSet(refill, null);
+                        refill.complete(null);
+                    })
+                    .doOnError(ex -> {
+                        refilling.compareAndSet(refill, null);
+                        refill.completeExceptionally(ex);
+                    })
+                    .doOnCancel(() -> {
+                        refilling.compareAndSet(refill, null);
+                        refill.completeExceptionally(new CancellationException());
+                    });
+        });
+    }
+
+    private Mono<Block> reserveBlock() {
+        return accountRepository.nextAccountNumberBlock()
+                .flatMap(start -> {
+                    if (start > BlockAccountNumberAllocator.MAX_VALUE) {
+                        return Mono.error(new IllegalStateException("Account number space exhausted"));
+                    }
+                    return Mono.just(new Block(start, Math.min(start + blockSize, BlockAccountNumberAllocator.MAX_VALUE + 1)));
+                })
+                .doOnNext(block -> {
+                    reservations.increment();
+                    log.info("Bloque de números de cuenta reservado: [{}, {})", block.start, block.end);
+                });
+    }
+
+    private static final class Block {
+        private final long start;
+        private final long end;
+        private final AtomicLong cursor;
+
+        private Block(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.cursor = new AtomicLong(start);
+        }
+    }
+}
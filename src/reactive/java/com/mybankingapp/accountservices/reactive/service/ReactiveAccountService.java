@@ -0,0 +1,67 @@
+package com.mybankingapp.accountservices.reactive.service;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.reactive.repository.ReactiveAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the registration, account and balance operations of
+ * {@link com.mybankingapp.accountservices.service.AccountService}. There is no cache in front of the
+ * lookups, so every lookup reads the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+
+    private final ReactiveAccountNumberAllocator accountNumberAllocator;
+
+    /**
+     * Creates a new account based on the provided request.
+     *
+     * @param request The account creation request containing account type, initial deposit, and customer ID.
+     * @return The created Account object.
+     */
+    public Mono<Account> createAccount(AccountCreationRequest request) {
+        return accountNumberAllocator.nextAccountNumber()
+                .map(accountNumber -> Account.builder()
+                        .id(UUID.randomUUID())
+                        .accountNumber(accountNumber)
+                        .accountType(request.getAccountType())
+                        .balance(Money.of(request.getInitialDeposit()))
+                        .customerId(request.getCustomerId())
+                        .createdAt(LocalDateTime.now())
+                        .active(true)
+                        .version(0L)
+                        .build())
+                .flatMap(account -> {
+                    log.info(">>> Creación de cuenta iniciada para customerId: {}", request.getCustomerId());
+                    return accountRepository.insert(account);
+                })
+                .doOnNext(saved -> log.info("<<< {} Cuenta creada exitosamente con número: {}",
+                        saved.getId(), saved.getAccountNumber()));
+    }
+
+    /**
+     * Retrieves an active account by its ID. For an account with balance stripes, the returned balance
+     * includes them.
+     *
+     * @param id The UUID of the account.
+     * @return The Account object.
+     * @throws RuntimeException as an error signal if the account is not found or is inactive.
+     */
+    public Mono<Account> getAccount(UUID id) {
+        return accountRepository.findByIdAndActiveTrue(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Account not found")));
+    }
+}
@@ -0,0 +1,146 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import com.mybankingapp.accountservices.service.AccountLoader;
+import com.mybankingapp.accountservices.service.AccountNumberAllocator;
+import com.mybankingapp.accountservices.service.AccountService;
+import com.mybankingapp.accountservices.service.BlockAccountNumberAllocator;
+import com.mybankingapp.accountservices.service.RandomAccountNumberAllocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares account creation throughput of the random allocator against the block allocator
+ * at 10%, 50% and 90% occupancy of the account number space.
+ *
+ * <p>The database is simulated: every query parks the calling thread for {@link #ROUND_TRIP_NANOS},
+ * and {@code existsByAccountNumber} reports a collision with a probability equal to the occupancy,
+ * which is what a uniformly random draw sees against a table filled to that level.</p>
+ *
+ * <p>Run with: {@code mvn test -Dbenchmarks=true -Dtest=AccountNumberAllocatorBenchmarkTest}</p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class AccountNumberAllocatorBenchmarkTest {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int THREADS = 16;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+    private static final double[] OCCUPANCIES = {0.10, 0.50, 0.90};
+
+    @Test
+    void createAccount_throughputPorOcupacion() throws Exception {
+        System.out.printf("%n%-10s %-8s %14s %16s%n", "occupancy", "allocator", "creates/s", "queries/create");
+        for (double occupancy : OCCUPANCIES) {
+            AtomicLong queries = new AtomicLong();
+            AccountRepository accountRepository = simulatedAccountRepository(occupancy, queries);
+
+            Result random = measure(() -> new RandomAccountNumberAllocator(accountRepository, new SimpleMeterRegistry()), accountRepository, queries);
+            print(occupancy, "random", random);
+
+            Result block = measure(() -> new BlockAccountNumberAllocator(accountRepository, new SimpleMeterRegistry(), 1000),
+                    accountRepository, queries);
+            print(occupancy, "block", block);
+        }
+    }
+
+    private static void print(double occupancy, String allocator, Result result) {
+        System.out.printf("%-10s %-8s %14.0f %16.2f%n", Math.round(occupancy * 100) + "%", allocator,
+                result.createsPerSecond(), result.queriesPerCreate());
+    }
+
+    private static Result measure(Supplier<AccountNumberAllocator> allocatorFactory,
+                                  AccountRepository accountRepository, AtomicLong queries) throws Exception {
+        AccountService service = new AccountService(accountRepository, allocatorFactory.get(),
+                new NoOpCacheManager(), new AccountLoader(accountRepository, mock(PlatformTransactionManager.class),
+                        new SimpleMeterRegistry(), Duration.ofMillis(2), 100));
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType("savings");
+        request.setInitialDeposit(BigDecimal.TEN);
+        request.setCustomerId(UUID.randomUUID());
+
+        run(service, request, WARMUP_MILLIS);
+        queries.set(0);
+        long creates = run(service, request, MEASURE_MILLIS);
+        return new Result(creates * 1000.0 / MEASURE_MILLIS, (double) queries.get() / creates);
+    }
+
+    private static long run(AccountService service, AccountCreationRequest request, long millis) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        service.createAccount(request);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void roundTrip(AtomicLong queries) {
+        queries.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    private static AccountRepository simulatedAccountRepository(double occupancy, AtomicLong queries) {
+        AtomicLong sequence = new AtomicLong(100_000_000L);
+        return (AccountRepository) Proxy.newProxyInstance(
+                AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "existsByAccountNumber" -> {
+                        roundTrip(queries);
+                        yield ThreadLocalRandom.current().nextDouble() < occupancy;
+                    }
+                    case "nextAccountNumberBlock" -> {
+                        roundTrip(queries);
+                        yield sequence.getAndAdd(1000);
+                    }
+                    case "save" -> {
+                        roundTrip(queries);
+                        Account account = (Account) args[0];
+                        account.setId(UUID.randomUUID());
+                        yield account;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private record Result(double createsPerSecond, double queriesPerCreate) {
+    }
+}
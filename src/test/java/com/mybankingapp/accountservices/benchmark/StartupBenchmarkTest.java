@@ -0,0 +1,230 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the cold start of the packaged application as the time from launching the JVM to the first
+ * successful {@code /balance} response, and its resident memory after a warm-up, for each startup mode
+ * whose artifacts are built:
+ * <ul>
+ *     <li>{@code jar}: the executable jar, always available after {@code mvn package};</li>
+ *     <li>{@code aot}: the same jar with {@code -Dspring.aot.enabled=true}, available after {@code mvn -Paot package};</li>
+ *     <li>{@code aot-cds}: the extracted jar in {@code target/application} with AOT and its AppCDS archive.</li>
+ * </ul>
+ *
+ * <p>The application runs against the database of {@code SPRING_DATASOURCE_URL}, {@code DB_USER} and
+ * {@code DB_PASSWORD}. Each mode is started {@link #RUNS} times and the median is reported; results are
+ * appended to {@code target/startup-benchmark.json} so they can be tracked over time.</p>
+ *
+ * <p>Run with: {@code mvn -Paot package -DskipTests && mvn test -Dbenchmarks=true -Dtest=StartupBenchmarkTest}</p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = 3;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String API_KEY = "startup-benchmark-key";
+    private static final Path TARGET = Path.of("target");
+    private static final Path EXTRACTED = TARGET.resolve("application");
+    private static final Path CDS_ARCHIVE = EXTRACTED.resolve("application.jsa");
+    private static final String AOT_INITIALIZER =
+            "BOOT-INF/classes/com/mybankingapp/accountservices/AccountservicesApplication__ApplicationContextInitializer.class";
+    private static final Path RESULTS = TARGET.resolve("startup-benchmark.json");
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private record Mode(String name, Path jar, List<String> jvmArguments) {
+    }
+
+    private record Sample(long timeToFirstBalanceMs, long rssAfterWarmupKb) {
+    }
+
+    @Test
+    void arranque_tiempoHastaPrimerBalanceYMemoriaPorModo() throws Exception {
+        Path jar = executableJar();
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jar", jar, List.of()));
+        if (containsAotClasses(jar)) {
+            modes.add(new Mode("aot", jar, List.of("-Dspring.aot.enabled=true")));
+        }
+        if (Files.exists(CDS_ARCHIVE)) {
+            modes.add(new Mode("aot-cds", EXTRACTED.resolve(jar.getFileName()),
+                    List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + CDS_ARCHIVE)));
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        System.out.printf("%n%-9s %22s %22s%n", "mode", "first /balance ms", "RSS after warm-up MB");
+        for (Mode mode : modes) {
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 0; run < RUNS; run++) {
+                samples.add(measure(mode, run));
+            }
+            long timeToFirstBalance = median(samples.stream().mapToLong(Sample::timeToFirstBalanceMs).toArray());
+            long rss = median(samples.stream().mapToLong(Sample::rssAfterWarmupKb).toArray());
+            System.out.printf("%-9s %22d %22.1f%n", mode.name(), timeToFirstBalance, rss / 1024.0);
+            results.put(mode.name(), Map.of(
+                    "timeToFirstBalanceMs", timeToFirstBalance,
+                    "rssAfterWarmupMb", rss / 1024,
+                    "samples", samples));
+        }
+        appendResults(results);
+    }
+
+    private Sample measure(Mode mode, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArguments());
+        command.addAll(List.of("-jar", mode.jar().toString(),
+                "--server.port=" + port,
+                "--management.server.port=" + freePort(),
+                "--api.key=" + API_KEY,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        Path log = TARGET.resolve("startup-benchmark-" + mode.name() + "-" + run + ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port + "/api/v1/accounts";
+            String accountId = null;
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (true) {
+                assertThat(process.isAlive()).as("application exited, see %s", log).isTrue();
+                assertThat(System.nanoTime()).as("no /balance response within %s, see %s", STARTUP_TIMEOUT, log)
+                        .isLessThan(deadline);
+                try {
+                    if (accountId == null) {
+                        Matcher matcher = ID_PATTERN.matcher(send(register(baseUrl)).body());
+                        accountId = matcher.find() ? matcher.group(1) : null;
+                    }
+                    if (accountId != null && send(get(baseUrl + "/" + accountId + "/balance")).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet.
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            long timeToFirstBalanceMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                send(i % 10 == 0 ? register(baseUrl) : get(baseUrl + "/" + accountId + "/balance"));
+            }
+            return new Sample(timeToFirstBalanceMs, residentSetSizeKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Path executableJar() throws IOException {
+        try (Stream<Path> files = Files.list(TARGET)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in target, run mvn package first"));
+        }
+    }
+
+    private static boolean containsAotClasses(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    /**
+     * Reads the resident set size of a process from {@code /proc}, or returns -1 where it is not available.
+     */
+    private static long residentSetSizeKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static void appendResults(Map<String, Object> results) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        String line = objectMapper.writeValueAsString(Map.of("timestamp", Instant.now(), "modes", results));
+        Files.writeString(RESULTS, line + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static HttpRequest register(String baseUrl) {
+        String body = "{\"accountType\":\"savings\",\"initialDeposit\":100.00,\"customerId\":\"" + UUID.randomUUID() + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/register"))
+                .header("x-api-key", API_KEY)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("x-api-key", API_KEY).GET().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
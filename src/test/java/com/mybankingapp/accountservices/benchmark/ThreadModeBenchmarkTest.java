@@ -0,0 +1,257 @@
+package com.mybankingapp.accountservices.benchmark;
+
+import com.mybankingapp.accountservices.AccountservicesApplication;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares throughput and p99 latency of the three {@code AccountController} endpoints with request
+ * handling on Tomcat's platform-thread pool and on virtual threads.
+ *
+ * <p>The application runs twice against an in-memory H2 database where every statement is delayed by
+ * {@link #STATEMENT_LATENCY}, reproducing a database latency spike. Virtual threads pinned to their
+ * carrier for longer than {@link #PINNING_THRESHOLD} are reported through the JFR
+ * {@code jdk.VirtualThreadPinned} event.</p>
+ *
+ * <p>Run with: {@code mvn test -Dbenchmarks=true -Dtest=ThreadModeBenchmarkTest}</p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ThreadModeBenchmarkTest {
+
+    private static final Duration STATEMENT_LATENCY = Duration.ofMillis(20);
+    private static final Duration PINNING_THRESHOLD = Duration.ofMillis(5);
+    private static final int CLIENTS = 400;
+    private static final int ACCOUNTS = 50;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+    private static final String API_KEY = "test-key";
+    private static final String[] ENDPOINTS = {"register", "account", "balance"};
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    @Test
+    void endpoints_throughputYP99PorModoDeHilos() throws Exception {
+        try (RecordingStream pinning = new RecordingStream()) {
+            Map<String, AtomicLong> pinnedFrames = new ConcurrentHashMap<>();
+            AtomicLong pinnedEvents = new AtomicLong();
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(PINNING_THRESHOLD).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.incrementAndGet();
+                if (event.getStackTrace() != null) {
+                    event.getStackTrace().getFrames().stream()
+                            .filter(RecordedFrame::isJavaFrame)
+                            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                            .filter(name -> name.startsWith("com.mybankingapp"))
+                            .findFirst()
+                            .ifPresent(name -> pinnedFrames.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet());
+                }
+            });
+            pinning.startAsync();
+
+            System.out.printf("%n%-9s %-9s %10s %10s %10s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms");
+            for (boolean virtual : new boolean[]{false, true}) {
+                pinnedEvents.set(0);
+                pinnedFrames.clear();
+                runMode(virtual);
+                if (virtual) {
+                    System.out.printf("virtual thread pinning events: %d %s%n", pinnedEvents.get(), pinnedFrames);
+                }
+            }
+        }
+    }
+
+    private void runMode(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountservicesApplication.class, SlowDatabaseConfig.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--api.concurrency.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            String baseUrl = "http://localhost:" + port + "/api/v1/accounts";
+
+            List<String> accountIds = new ArrayList<>();
+            for (int i = 0; i < ACCOUNTS; i++) {
+                Matcher matcher = ID_PATTERN.matcher(send(client, register(baseUrl)).body());
+                if (matcher.find()) {
+                    accountIds.add(matcher.group(1));
+                }
+            }
+
+            load(client, baseUrl, accountIds, WARMUP);
+            List<List<Long>> latencies = load(client, baseUrl, accountIds, MEASURE);
+
+            for (int e = 0; e < ENDPOINTS.length; e++) {
+                long[] sorted = latencies.get(e).stream().mapToLong(Long::longValue).sorted().toArray();
+                System.out.printf("%-9s %-9s %10.0f %10.2f %10.2f%n", mode, ENDPOINTS[e],
+                        sorted.length / (double) MEASURE.toSeconds(),
+                        percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private List<List<Long>> load(HttpClient client, String baseUrl, List<String> accountIds, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<List<Long>> merged = new ArrayList<>();
+        for (int e = 0; e < ENDPOINTS.length; e++) {
+            merged.add(new ArrayList<>());
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<List<Long>>>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int endpoint = c % ENDPOINTS.length;
+                workers.add(executor.submit(() -> {
+                    List<List<Long>> own = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+                    while (System.nanoTime() < deadline) {
+                        String id = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+                        HttpRequest request = switch (ENDPOINTS[endpoint]) {
+                            case "register" -> register(baseUrl);
+                            case "account" -> get(baseUrl + "/" + id);
+                            default -> get(baseUrl + "/" + id + "/balance");
+                        };
+                        long start = System.nanoTime();
+                        HttpResponse<String> response = send(client, request);
+                        if (response.statusCode() < 400) {
+                            own.get(endpoint).add(System.nanoTime() - start);
+                        }
+                    }
+                    return own;
+                }));
+            }
+            for (Future<List<List<Long>>> worker : workers) {
+                List<List<Long>> own = worker.get();
+                for (int e = 0; e < ENDPOINTS.length; e++) {
+                    merged.get(e).addAll(own.get(e));
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static HttpRequest register(String baseUrl) {
+        String body = "{\"accountType\":\"savings\",\"initialDeposit\":100.00,\"customerId\":\"" + UUID.randomUUID() + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/register"))
+                .header("x-api-key", API_KEY)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("x-api-key", API_KEY).GET().build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Wraps the application's DataSource so every executed statement is delayed by {@link #STATEMENT_LATENCY}
+     * while holding its pooled connection.
+     */
+    @Configuration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return slow(super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection slow(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                return result instanceof PreparedStatement statement
+                        ? proxy(PreparedStatement.class, statement, (stmt, m, a) -> {
+                            if (m.getName().startsWith("execute")) {
+                                Thread.sleep(STATEMENT_LATENCY);
+                            }
+                            return m.invoke(stmt, a);
+                        })
+                        : result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Invoker<T> invoker) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return invoker.invoke(target, method, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            });
+        }
+
+        @FunctionalInterface
+        private interface Invoker<T> {
+            Object invoke(T target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
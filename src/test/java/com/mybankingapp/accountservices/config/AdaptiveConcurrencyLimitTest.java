@@ -0,0 +1,108 @@
+package com.mybankingapp.accountservices.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 4, 2, 6, THRESHOLD, 0.5);
+
+    @Test
+    void tryAcquire_deberiaRechazarAlAlcanzarElLimite() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void release_deberiaReducirElLimiteCuandoLaLatenciaSuperaElUmbral() {
+        limit.tryAcquire();
+        limit.release(SLOW);
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        limit.tryAcquire();
+        limit.release(SLOW);
+        assertThat(limit.getLimit()).isEqualTo(2);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void release_deberiaReducirElLimiteUnaVezPorRafagaDeRespuestasLentas() throws Exception {
+        AdaptiveConcurrencyLimit amplio = new AdaptiveConcurrencyLimit("read", 50, 1, 100, THRESHOLD, 0.9);
+        for (int i = 0; i < 50; i++) {
+            assertThat(amplio.tryAcquire()).isTrue();
+        }
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        try {
+            List<Future<?>> liberaciones = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                liberaciones.add(executor.submit(() -> {
+                    salida.await();
+                    amplio.release(SLOW);
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> liberacion : liberaciones) {
+                liberacion.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(amplio.getLimit()).isEqualTo(45);
+        assertThat(amplio.getInFlight()).isZero();
+
+        // The next burst, admitted under the lowered limit, lowers it once more.
+        for (int i = 0; i < 45; i++) {
+            amplio.tryAcquire();
+        }
+        for (int i = 0; i < 45; i++) {
+            amplio.release(SLOW);
+        }
+        assertThat(amplio.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void release_deberiaAumentarElLimiteSoloConCargaYLatenciaBaja() {
+        limit.tryAcquire();
+        limit.release(FAST);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) {
+                limit.tryAcquire();
+            }
+            for (int i = 0; i < 3; i++) {
+                limit.release(FAST);
+            }
+        }
+        assertThat(limit.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void constructor_deberiaValidarLimites() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit("read", 1, 2, 6, THRESHOLD, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit("read", 4, 2, 6, THRESHOLD, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
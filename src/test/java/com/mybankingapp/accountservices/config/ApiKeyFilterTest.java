@@ -1,6 +1,7 @@
 package com.mybankingapp.accountservices.config;
 
 import com.mybankingapp.accountservices.utils.SendUnauthorizedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 class ApiKeyFilterTest {
@@ -31,16 +33,22 @@ class ApiKeyFilterTest {
     @Mock
     private SendUnauthorizedResponse sendUnauthorizedResponse;
 
+    @Mock
+    private ApiKeyStore apiKeyStore;
+
     @InjectMocks
     private ApiKeyFilter apiKeyFilter;
 
     @Value("${api.key}")
     private String apiKey;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        ReflectionTestUtils.setField(apiKeyFilter, "apikey", "expected-api-key");
+        when(apiKeyStore.findClientId("expected-api-key")).thenReturn("client-a");
+        ReflectionTestUtils.setField(apiKeyFilter, "meterRegistry", meterRegistry);
     }
 
     @Test
@@ -50,6 +58,7 @@ class ApiKeyFilterTest {
         apiKeyFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain, times(1)).doFilter(request, response);
+        verify(request).setAttribute(ApiKeyFilter.CLIENT_ID_ATTRIBUTE, "client-a");
         verify(sendUnauthorizedResponse, never()).sendUnauthorizedResponse(any(), anyString());
     }
 
@@ -73,6 +82,18 @@ class ApiKeyFilterTest {
         verify(filterChain, never()).doFilter(request, response);
     }
 
+    @Test
+    void shouldCountRejectedRequestsByReason() throws ServletException, IOException {
+        when(request.getHeader("x-api-key")).thenReturn("invalid-api-key", "invalid-api-key", null);
+
+        apiKeyFilter.doFilterInternal(request, response, filterChain);
+        apiKeyFilter.doFilterInternal(request, response, filterChain);
+        apiKeyFilter.doFilterInternal(request, response, filterChain);
+
+        assertThat(meterRegistry.counter("api.key.rejections", "reason", "invalid").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("api.key.rejections", "reason", "missing").count()).isEqualTo(1);
+    }
+
     @Test
     void shouldNotFilter_deberiaRetornarTrueParaRutaQueNoEmpiezaConApi() {
         HttpServletRequest request = mock(HttpServletRequest.class);
@@ -0,0 +1,91 @@
+package com.mybankingapp.accountservices.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ApiKeyStoreTest {
+
+    private final ApiKeySource source = mock(ApiKeySource.class);
+
+    @Test
+    void findClientId_deberiaAceptarLaClaveConfiguradaSinConsultarLaFuente() {
+        ApiKeyStore store = new ApiKeyStore(source, "legacy-key");
+
+        assertThat(store.findClientId("legacy-key")).isEqualTo(ApiKeyStore.DEFAULT_CLIENT_ID);
+        assertThat(store.findClientId("otra")).isNull();
+        verifyNoInteractions(source);
+    }
+
+    @Test
+    void refresh_deberiaCargarClavesHasheadasDeLaFuente() {
+        when(source.loadKeyHashes()).thenReturn(Map.of(
+                ApiKeyStore.hash("key-a"), "client-a",
+                ApiKeyStore.hash("key-b").toUpperCase(), "client-b"));
+        ApiKeyStore store = new ApiKeyStore(source, "");
+
+        store.refresh();
+
+        assertThat(store.findClientId("key-a")).isEqualTo("client-a");
+        assertThat(store.findClientId("key-b")).isEqualTo("client-b");
+        assertThat(store.findClientId("key-c")).isNull();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void refresh_deberiaAplicarRotacionSinReinicio() {
+        when(source.loadKeyHashes())
+                .thenReturn(Map.of(ApiKeyStore.hash("old-key"), "client-a"))
+                .thenReturn(Map.of(ApiKeyStore.hash("old-key"), "client-a", ApiKeyStore.hash("new-key"), "client-a"))
+                .thenReturn(Map.of(ApiKeyStore.hash("new-key"), "client-a"));
+        ApiKeyStore store = new ApiKeyStore(source, "legacy-key");
+
+        store.refresh();
+        assertThat(store.findClientId("new-key")).isNull();
+
+        store.refresh();
+        assertThat(store.findClientId("old-key")).isEqualTo("client-a");
+        assertThat(store.findClientId("new-key")).isEqualTo("client-a");
+
+        store.refresh();
+        assertThat(store.findClientId("old-key")).isNull();
+        assertThat(store.findClientId("new-key")).isEqualTo("client-a");
+        assertThat(store.findClientId("legacy-key")).isEqualTo(ApiKeyStore.DEFAULT_CLIENT_ID);
+    }
+
+    @Test
+    void refresh_deberiaConservarClavesActualesSiLaFuenteFalla() {
+        when(source.loadKeyHashes())
+                .thenReturn(Map.of(ApiKeyStore.hash("key-a"), "client-a"))
+                .thenThrow(new IllegalStateException("database down"));
+        ApiKeyStore store = new ApiKeyStore(source, "");
+
+        store.refresh();
+        store.refresh();
+
+        assertThat(store.findClientId("key-a")).isEqualTo("client-a");
+    }
+
+    @Test
+    void refresh_deberiaIgnorarHashesInvalidos() {
+        when(source.loadKeyHashes()).thenReturn(Map.of(
+                "not-a-hash", "client-x",
+                "abcd", "client-y",
+                ApiKeyStore.hash("key-a"), "client-a"));
+        ApiKeyStore store = new ApiKeyStore(source, "");
+
+        store.refresh();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.findClientId("key-a")).isEqualTo("client-a");
+    }
+
+    @Test
+    void hash_deberiaRetornarSha256EnHexadecimal() {
+        assertThat(ApiKeyStore.hash("test-key"))
+                .isEqualTo("62af8704764faf8ea82fc61ce9c4c3908b6cb97d463a634e9e587d7c885db0ef");
+    }
+}
@@ -0,0 +1,111 @@
+package com.mybankingapp.accountservices.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws ServletException {
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "readInitialLimit", 2);
+        ReflectionTestUtils.setField(filter, "readMinLimit", 1);
+        ReflectionTestUtils.setField(filter, "writeInitialLimit", 1);
+        ReflectionTestUtils.setField(filter, "writeMinLimit", 1);
+        filter.afterPropertiesSet();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+
+    @Test
+    void doFilter_deberiaRechazarCon503YRetryAfterAlSuperarElLimite() throws Exception {
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain bloqueante = (req, res) -> {
+            dentro.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> enCurso = executor.submit(() -> {
+                filter.doFilter(request("POST", "/api/v1/accounts/register"), new MockHttpServletResponse(), bloqueante);
+                return null;
+            });
+            assertThat(dentro.await(5, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse rechazada = new MockHttpServletResponse();
+            filter.doFilter(request("POST", "/api/v1/accounts/register"), rechazada, (req, res) -> { });
+
+            assertThat(rechazada.getStatus()).isEqualTo(503);
+            assertThat(rechazada.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(rechazada.getContentAsString()).isEqualTo("{\"message\":\"Service overloaded, retry later\"}");
+            assertThat(meterRegistry.counter("api.concurrency.rejections", "limiter", "write").count()).isEqualTo(1);
+
+            MockHttpServletResponse lectura = new MockHttpServletResponse();
+            filter.doFilter(request("GET", "/api/v1/accounts/1/balance"), lectura, (req, res) -> { });
+            assertThat(lectura.getStatus()).isEqualTo(200);
+
+            MockHttpServletResponse balances = new MockHttpServletResponse();
+            filter.doFilter(request("POST", "/api/v1/accounts/balances"), balances, (req, res) -> { });
+            assertThat(balances.getStatus()).isEqualTo(200);
+
+            liberar.countDown();
+            enCurso.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doFilter_deberiaLiberarElPermisoCuandoLaCadenaFalla() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> filter.doFilter(request("POST", "/api/v1/accounts/register"),
+                    new MockHttpServletResponse(), (req, res) -> {
+                        throw new IOException("fallo");
+                    }))
+                    .isInstanceOf(IOException.class);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/accounts/register"), response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("api.concurrency.in.flight").tag("limiter", "write").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldNotFilter_deberiaIgnorarRutasFueraDeLaApiYModoDeshabilitado() {
+        assertThat(filter.shouldNotFilter(request("GET", "/actuator/health"))).isTrue();
+        assertThat(filter.shouldNotFilter(request("GET", "/api/v1/accounts/1"))).isFalse();
+        assertThat(filter.shouldNotFilter(request("GET", "/api/v1/accounts/export"))).isTrue();
+
+        ReflectionTestUtils.setField(filter, "enabled", false);
+        assertThat(filter.shouldNotFilter(request("GET", "/api/v1/accounts/1"))).isTrue();
+    }
+}
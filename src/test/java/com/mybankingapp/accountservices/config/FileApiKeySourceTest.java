@@ -0,0 +1,45 @@
+package com.mybankingapp.accountservices.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileApiKeySourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loadKeyHashes_deberiaLeerEntradasIgnorandoComentariosYLineasVacias() throws IOException {
+        Path file = tempDir.resolve("api-keys.txt");
+        Files.writeString(file, """
+                # clientId:sha256
+                client-a:%s
+
+                client-a:%s
+                client-b : %s
+                """.formatted(ApiKeyStore.hash("a1"), ApiKeyStore.hash("a2"), ApiKeyStore.hash("b1")));
+
+        assertThat(new FileApiKeySource(file).loadKeyHashes())
+                .containsEntry(ApiKeyStore.hash("a1"), "client-a")
+                .containsEntry(ApiKeyStore.hash("a2"), "client-a")
+                .containsEntry(ApiKeyStore.hash("b1"), "client-b")
+                .hasSize(3);
+    }
+
+    @Test
+    void loadKeyHashes_deberiaFallarConEntradaMalFormada() throws IOException {
+        Path file = tempDir.resolve("api-keys.txt");
+        Files.writeString(file, "sin-separador\n");
+
+        assertThatThrownBy(() -> new FileApiKeySource(file).loadKeyHashes())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(":1");
+    }
+}
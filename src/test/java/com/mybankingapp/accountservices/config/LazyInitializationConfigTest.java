@@ -0,0 +1,48 @@
+package com.mybankingapp.accountservices.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyInitializationConfigTest {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    private void registrar() {
+        beanFactory.registerBeanDefinition("documentacion",
+                BeanDefinitionBuilder.genericBeanDefinition("org.springdoc.core.configuration.SpringDocConfiguration").getBeanDefinition());
+        RootBeanDefinition fabricada = new RootBeanDefinition();
+        fabricada.setFactoryBeanName("documentacion");
+        fabricada.setFactoryMethodName("openApiResource");
+        beanFactory.registerBeanDefinition("openApiResource", fabricada);
+        beanFactory.registerBeanDefinition("accountService",
+                BeanDefinitionBuilder.genericBeanDefinition("com.mybankingapp.accountservices.service.AccountService").getBeanDefinition());
+    }
+
+    @Test
+    void postProcessor_deberiaDiferirLosBeansDeLosPaquetesConfigurados() {
+        registrar();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(LazyInitializationConfig.LAZY_PACKAGES_PROPERTY, "org.springdoc,io.swagger");
+
+        LazyInitializationConfig.lazyPackagesPostProcessor(environment).postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("documentacion").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("openApiResource").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("accountService").isLazyInit()).isFalse();
+    }
+
+    @Test
+    void postProcessor_noDeberiaDiferirNadaSinPaquetesConfigurados() {
+        registrar();
+
+        LazyInitializationConfig.lazyPackagesPostProcessor(new MockEnvironment()).postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("documentacion").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("openApiResource").isLazyInit()).isFalse();
+    }
+}
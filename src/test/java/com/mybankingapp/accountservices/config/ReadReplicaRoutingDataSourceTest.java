@@ -0,0 +1,206 @@
+package com.mybankingapp.accountservices.config;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.service.AccountLoader;
+import com.mybankingapp.accountservices.service.AccountNumberAllocator;
+import com.mybankingapp.accountservices.service.AccountService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the account service over two H2 databases standing for the primary and its replica. Nothing
+ * replicates between them, so each test can tell which database served a read by where the row was written.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.username=sa",
+        "account.datasource.read-your-writes-window=PT5S"})
+@Import({ReadReplicaDataSourceConfig.class, AccountService.class, AccountLoader.class,
+        ReadReplicaRoutingDataSourceTest.Config.class})
+class ReadReplicaRoutingDataSourceTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate primario;
+
+    private JdbcTemplate replica;
+
+    @TestConfiguration
+    static class Config {
+        private final AtomicLong accountNumbers = new AtomicLong(4_000_000_000L);
+
+        @Bean
+        AccountNumberAllocator accountNumberAllocator() {
+            return () -> Long.toString(accountNumbers.incrementAndGet());
+        }
+
+        @Bean
+        ConcurrentMapCacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * Copies the schema generated on the primary to the replica, once per context.
+     */
+    @BeforeEach
+    void setUp() {
+        primario = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        Integer tablas = replica.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'ACCOUNT'", Integer.class);
+        if (tablas == 0) {
+            primario.queryForList("script nodata", String.class).forEach(replica::execute);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Starts a request of the given API client, sending back a consistency token if not {@code null}.
+     *
+     * @return the response of the request
+     */
+    private static MockHttpServletResponse solicitud(String clientId, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ApiKeyFilter.CLIENT_ID_ATTRIBUTE, clientId);
+        if (token != null) {
+            request.addHeader(ReadReplicaRoutingDataSource.CONSISTENCY_TOKEN_HEADER, token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private Account crearCuenta() {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType("savings");
+        request.setInitialDeposit(new BigDecimal("100.00"));
+        request.setCustomerId(UUID.randomUUID());
+        return accountService.createAccount(request);
+    }
+
+    private UUID cuentaSoloEnReplica() {
+        UUID id = UUID.randomUUID();
+        replica.update("""
+                insert into account (id, account_number, account_type, balance, created_at, active, customer_id,
+                                     version, balance_stripes)
+                values (?, ?, 'savings', 250.00, ?, true, ?, 0, 0)""",
+                id, "9" + id.toString().substring(0, 9), LocalDateTime.now(), UUID.randomUUID());
+        return id;
+    }
+
+    private double lecturas(String target) {
+        return meterRegistry.get("datasource.routing.reads").tag("target", target).counter().count();
+    }
+
+    @Test
+    void createAccount_deberiaEscribirSoloEnElPrimario() {
+        Account cuenta = crearCuenta();
+
+        assertThat(primario.queryForObject("select count(*) from account where id = ?", Integer.class, cuenta.getId()))
+                .isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from account where id = ?", Integer.class, cuenta.getId()))
+                .isZero();
+    }
+
+    @Test
+    void lecturasDeSoloLectura_deberianLeerDeLaReplica() {
+        UUID enReplica = cuentaSoloEnReplica();
+        UUID enPrimario = crearCuenta().getId();
+        double antes = lecturas("replica");
+
+        assertThat(accountService.getBalance(enReplica).toBigDecimal()).isEqualByComparingTo("250.00");
+        assertThat(accountService.getAccount(enReplica).getId()).isEqualTo(enReplica);
+        assertThatThrownBy(() -> accountService.getBalance(enPrimario)).hasMessage("Account not found");
+        assertThat(lecturas("replica") - antes).isEqualTo(3);
+    }
+
+    @Test
+    void lecturasConElTokenDeUnaEscritura_deberianLeerDelPrimarioDuranteLaVentana() {
+        MockHttpServletResponse escritura = solicitud("cliente-a", null);
+        UUID id = crearCuenta().getId();
+        String token = escritura.getHeader(ReadReplicaRoutingDataSource.CONSISTENCY_TOKEN_HEADER);
+
+        assertThat(token).isNotNull();
+        assertThat(accountService.getAccount(id).getId()).isEqualTo(id);
+        assertThat(lecturas("primary")).isPositive();
+
+        solicitud("cliente-a", token);
+        assertThat(accountService.getBalance(id).toBigDecimal()).isEqualByComparingTo("100.00");
+
+        solicitud("cliente-b", token);
+        assertThat(accountService.getBalance(id).toBigDecimal()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void lecturasSinTokenVigente_deberianLeerDeLaReplicaAunqueElClienteEscriba() {
+        solicitud("cliente-a", null);
+        UUID id = crearCuenta().getId();
+        long ahora = System.currentTimeMillis();
+
+        // Other callers of the same API client, which did not write, keep reading from the replica.
+        solicitud("cliente-a", null);
+        assertThatThrownBy(() -> accountService.getBalance(id)).hasMessage("Account not found");
+
+        for (String token : new String[]{Long.toString(ahora - 6_000), Long.toString(ahora + 60_000), "no-es-un-token"}) {
+            solicitud("cliente-a", token);
+            assertThatThrownBy(() -> accountService.getBalance(id)).hasMessage("Account not found");
+        }
+    }
+}
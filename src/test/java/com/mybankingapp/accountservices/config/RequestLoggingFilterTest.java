@@ -0,0 +1,113 @@
+package com.mybankingapp.accountservices.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestLoggingFilterTest {
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    private MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    @Test
+    void doFilter_deberiaPropagarCorrelationIdEnMdcYRespuesta() throws ServletException, IOException {
+        MockHttpServletRequest request = request("/api/v1/accounts/1/balance");
+        request.addHeader(RequestLoggingFilter.CORRELATION_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> duranteLaCadena = new AtomicReference<>();
+
+        filter.doFilter(request, response,
+                (req, res) -> duranteLaCadena.set(MDC.get(RequestLoggingFilter.CORRELATION_ID_MDC_KEY)));
+
+        assertThat(duranteLaCadena.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(RequestLoggingFilter.CORRELATION_ID_HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(RequestLoggingFilter.CORRELATION_ID_MDC_KEY)).isNull();
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.INFO);
+            assertThat(event.getFormattedMessage()).startsWith("method=GET path=/api/v1/accounts/1/balance status=200");
+            assertThat(event.getMDCPropertyMap()).containsEntry(RequestLoggingFilter.CORRELATION_ID_MDC_KEY, "abc-123");
+        });
+    }
+
+    @Test
+    void doFilter_deberiaGenerarCorrelationIdCuandoElRecibidoNoEsValido() throws ServletException, IOException {
+        MockHttpServletRequest request = request("/api/v1/accounts/1");
+        request.addHeader(RequestLoggingFilter.CORRELATION_ID_HEADER, "abc\r\nINFO falso");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getHeader(RequestLoggingFilter.CORRELATION_ID_HEADER))
+                .isNotBlank()
+                .matches("[0-9a-f]+");
+    }
+
+    @Test
+    void doFilter_deberiaOmitirExitosNoMuestreadosPeroRegistrarRechazos() throws ServletException, IOException {
+        ReflectionTestUtils.setField(filter, "successSampleRate", 0.0);
+
+        filter.doFilter(request("/api/v1/accounts/1"), new MockHttpServletResponse(), (req, res) -> { });
+        filter.doFilter(request("/api/v1/accounts/1"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(401));
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(event.getFormattedMessage()).contains("status=401");
+        });
+    }
+
+    @Test
+    void doFilter_deberiaRegistrarErrorYRelanzarExcepcion() {
+        assertThatThrownBy(() -> filter.doFilter(request("/api/v1/accounts/1"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException("fallo");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+            assertThat(event.getFormattedMessage()).contains("status=500").endsWith("IllegalStateException: fallo");
+        });
+        assertThat(MDC.get(RequestLoggingFilter.CORRELATION_ID_MDC_KEY)).isNull();
+    }
+
+    @Test
+    void shouldNotFilter_deberiaIgnorarRutasFueraDeLaApi() {
+        assertThat(filter.shouldNotFilter(request("/swagger-ui.html"))).isTrue();
+        assertThat(filter.shouldNotFilter(request("/api/v1/accounts/1"))).isFalse();
+    }
+}
@@ -0,0 +1,171 @@
+package com.mybankingapp.accountservices.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mybankingapp.accountservices.utils.LuhnCheckDigit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contract of the registration, account and balance endpoints, run over HTTP against a started server.
+ * Each web stack extends it with the configuration that starts its own application, so both are held to
+ * the same status codes, bodies and headers.
+ */
+public abstract class AccountApiContract {
+
+    private static final String API_KEY = "test-key";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private HttpHeaders headers(String apiKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (apiKey != null) {
+            headers.set("x-api-key", apiKey);
+        }
+        return headers;
+    }
+
+    private ResponseEntity<JsonNode> register(Object body, String apiKey) {
+        return restTemplate.exchange("/api/v1/accounts/register", HttpMethod.POST,
+                new HttpEntity<>(body, headers(apiKey)), JsonNode.class);
+    }
+
+    private JsonNode registerAccount(BigDecimal initialDeposit) {
+        ResponseEntity<JsonNode> response = register(Map.of(
+                "accountType", "savings",
+                "initialDeposit", initialDeposit,
+                "customerId", UUID.randomUUID()), API_KEY);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    private <T> ResponseEntity<T> get(String path, HttpHeaders headers, Class<T> type) {
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), type);
+    }
+
+    @Test
+    void register_deberiaCrearCuentaActivaConNumeroValido() {
+        UUID customerId = UUID.randomUUID();
+
+        ResponseEntity<JsonNode> response = register(Map.of(
+                "accountType", "savings",
+                "initialDeposit", new BigDecimal("150.50"),
+                "customerId", customerId), API_KEY);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        JsonNode account = response.getBody();
+        assertThat(UUID.fromString(account.get("id").asText())).isNotNull();
+        assertThat(account.get("accountNumber").asText()).hasSize(10).satisfies(number ->
+                assertThat(LuhnCheckDigit.isValid(number)).isTrue());
+        assertThat(account.get("accountType").asText()).isEqualTo("savings");
+        assertThat(account.get("balance").decimalValue()).isEqualByComparingTo("150.50");
+        assertThat(account.get("customerId").asText()).isEqualTo(customerId.toString());
+        assertThat(account.get("active").asBoolean()).isTrue();
+        assertThat(account.get("version").asLong()).isZero();
+        assertThat(account.get("balanceStripes").asInt()).isZero();
+        assertThat(account.hasNonNull("createdAt")).isTrue();
+    }
+
+    @Test
+    void register_deberiaRetornar400SiLaSolicitudEsInvalida() {
+        ResponseEntity<JsonNode> response = register(Map.of(
+                "accountType", "savings",
+                "initialDeposit", BigDecimal.ZERO,
+                "customerId", UUID.randomUUID()), API_KEY);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void getAccount_deberiaRetornarLaCuentaRegistradaConETag() {
+        JsonNode created = registerAccount(new BigDecimal("75.00"));
+        String id = created.get("id").asText();
+
+        ResponseEntity<JsonNode> response = get("/api/v1/accounts/" + id, headers(API_KEY), JsonNode.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+        JsonNode account = response.getBody();
+        assertThat(account.get("id").asText()).isEqualTo(id);
+        assertThat(account.get("accountNumber").asText()).isEqualTo(created.get("accountNumber").asText());
+        assertThat(account.get("customerId").asText()).isEqualTo(created.get("customerId").asText());
+        assertThat(account.get("balance").decimalValue()).isEqualByComparingTo("75.00");
+        assertThat(account.get("active").asBoolean()).isTrue();
+    }
+
+    @Test
+    void getAccount_deberiaRetornar304SiElETagCoincide() {
+        String id = registerAccount(new BigDecimal("75.00")).get("id").asText();
+        HttpHeaders headers = headers(API_KEY);
+        headers.setIfNoneMatch("\"0\"");
+
+        ResponseEntity<String> response = get("/api/v1/accounts/" + id, headers, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void getBalance_deberiaRetornarElBalanceConETag() {
+        String id = registerAccount(new BigDecimal("320.10")).get("id").asText();
+
+        ResponseEntity<BigDecimal> response = get("/api/v1/accounts/" + id + "/balance", headers(API_KEY), BigDecimal.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualByComparingTo("320.10");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
+
+    @Test
+    void getBalance_deberiaRetornar304SiElETagCoincide() {
+        String id = registerAccount(new BigDecimal("320.10")).get("id").asText();
+        HttpHeaders headers = headers(API_KEY);
+        headers.setIfNoneMatch("\"0\"");
+
+        ResponseEntity<String> response = get("/api/v1/accounts/" + id + "/balance", headers, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void getBalance_deberiaFallarSiLaCuentaNoExiste() {
+        ResponseEntity<String> response = get("/api/v1/accounts/" + UUID.randomUUID() + "/balance",
+                headers(API_KEY), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void deberiaRechazarSolicitudSinApiKey() {
+        ResponseEntity<JsonNode> response = get("/api/v1/accounts/" + UUID.randomUUID(), headers(null), JsonNode.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getBody().get("message").asText()).isEqualTo("Unauthorized: No API key found in request headers");
+    }
+
+    @Test
+    void deberiaRechazarApiKeyInvalida() {
+        ResponseEntity<JsonNode> response = register(Map.of(
+                "accountType", "savings",
+                "initialDeposit", BigDecimal.TEN,
+                "customerId", UUID.randomUUID()), "clave-invalida");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getBody().get("message").asText()).isEqualTo("Unauthorized: Invalid API key");
+    }
+}
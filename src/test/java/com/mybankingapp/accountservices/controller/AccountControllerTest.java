@@ -2,19 +2,34 @@ package com.mybankingapp.accountservices.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.AccountPage;
+import com.mybankingapp.accountservices.dto.BalanceLookupResult;
+import com.mybankingapp.accountservices.dto.BalanceMutationRequest;
+import com.mybankingapp.accountservices.dto.BatchAccountResult;
+import com.mybankingapp.accountservices.dto.TransferRequest;
+import com.mybankingapp.accountservices.dto.TransferResult;
+import com.mybankingapp.accountservices.exception.TooManyExportsException;
 import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.service.AccountBalanceService;
+import com.mybankingapp.accountservices.service.AccountBatchService;
+import com.mybankingapp.accountservices.service.AccountExportService;
 import com.mybankingapp.accountservices.service.AccountService;
+import com.mybankingapp.accountservices.service.IdempotencyService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
@@ -31,6 +46,18 @@ class AccountControllerTest {
     @MockitoBean
     private AccountService accountService;
 
+    @MockitoBean
+    private AccountBatchService accountBatchService;
+
+    @MockitoBean
+    private AccountExportService accountExportService;
+
+    @MockitoBean
+    private AccountBalanceService accountBalanceService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -45,7 +72,7 @@ class AccountControllerTest {
                 .id(UUID.randomUUID())
                 .accountNumber("1234567890")
                 .accountType("savings")
-                .balance(BigDecimal.valueOf(1000))
+                .balance(Money.ofMinorUnits(1000_00))
                 .createdAt(LocalDateTime.now())
                 .active(true)
                 .customerId(request.getCustomerId())
@@ -61,19 +88,85 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.id", notNullValue()))
                 .andExpect(jsonPath("$.accountNumber", is("1234567890")))
                 .andExpect(jsonPath("$.accountType", is("savings")))
-                .andExpect(jsonPath("$.balance", is(1000)));
+                .andExpect(jsonPath("$.balance", is(1000.00)));
+    }
+
+    @Test
+    void createAccount_conIdempotencyKey_deberiaIndicarSiLaRespuestaEsRepetida() throws Exception {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType("savings");
+        request.setInitialDeposit(BigDecimal.valueOf(1000));
+        request.setCustomerId(UUID.randomUUID());
+        Account cuentaCreada = Account.builder()
+                .id(UUID.randomUUID())
+                .accountNumber("1234567890")
+                .accountType("savings")
+                .balance(Money.ofMinorUnits(1000_00))
+                .active(true)
+                .customerId(request.getCustomerId())
+                .build();
+
+        Mockito.when(idempotencyService.execute(Mockito.isNull(), Mockito.eq("clave-1"), Mockito.any(AccountCreationRequest.class),
+                        Mockito.eq(Account.class), Mockito.any()))
+                .thenReturn(new IdempotencyService.Outcome<>(cuentaCreada, true));
+
+        mockMvc.perform(post("/api/v1/accounts/register")
+                        .header(AccountController.IDEMPOTENCY_KEY_HEADER, "clave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(AccountController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id", is(cuentaCreada.getId().toString())));
+        Mockito.verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void createAccounts_deberiaRetornarResultadoPorCadaElemento() throws Exception {
+        AccountCreationRequest valida = new AccountCreationRequest();
+        valida.setAccountType("savings");
+        valida.setInitialDeposit(BigDecimal.valueOf(1000));
+        valida.setCustomerId(UUID.randomUUID());
+        AccountCreationRequest invalida = new AccountCreationRequest();
+
+        Account cuentaCreada = Account.builder()
+                .id(UUID.randomUUID())
+                .accountNumber("1234567890")
+                .accountType("savings")
+                .balance(Money.ofMinorUnits(1000_00))
+                .active(true)
+                .customerId(valida.getCustomerId())
+                .build();
+
+        Mockito.when(accountBatchService.createAccounts(Mockito.anyList()))
+                .thenReturn(List.of(
+                        BatchAccountResult.builder().index(0).status(BatchAccountResult.Status.CREATED)
+                                .account(cuentaCreada).build(),
+                        BatchAccountResult.builder().index(1).status(BatchAccountResult.Status.INVALID)
+                                .errors(List.of("accountType: must not be null")).build()));
+
+        mockMvc.perform(post("/api/v1/accounts/register/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valida, invalida))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].account.accountNumber", is("1234567890")))
+                .andExpect(jsonPath("$[1].status", is("INVALID")))
+                .andExpect(jsonPath("$[1].errors[0]", is("accountType: must not be null")));
     }
 
     @Test
     void getBalance_deberiaRetornarBalanceConStatus200() throws Exception {
         UUID accountId = UUID.randomUUID();
-        BigDecimal balance = BigDecimal.valueOf(5000);
+        Money balance = Money.ofMinorUnits(5000_00);
 
+        Mockito.when(accountService.getAccountTag(accountId)).thenReturn("3");
         Mockito.when(accountService.getBalance(accountId)).thenReturn(balance);
 
         mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId))
                 .andExpect(status().isOk())
-                .andExpect(content().string("5000"));
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string("5000.00"));
     }
 
     @Test
@@ -84,7 +177,7 @@ class AccountControllerTest {
                 .id(accountId)
                 .accountNumber("9876543210")
                 .accountType("checking")
-                .balance(BigDecimal.valueOf(2500))
+                .balance(Money.ofMinorUnits(2500_00))
                 .createdAt(LocalDateTime.now())
                 .active(true)
                 .customerId(UUID.randomUUID())
@@ -97,6 +190,239 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.id", is(accountId.toString())))
                 .andExpect(jsonPath("$.accountNumber", is("9876543210")))
                 .andExpect(jsonPath("$.accountType", is("checking")))
-                .andExpect(jsonPath("$.balance", is(2500)));
+                .andExpect(jsonPath("$.balance", is(2500.00)));
+    }
+
+    @Test
+    void getBalances_deberiaRetornarBalancesYCuentasNoEncontradas() throws Exception {
+        UUID activa = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+
+        Mockito.when(accountService.getBalances(List.of(activa, inexistente))).thenReturn(BalanceLookupResult.builder()
+                .balances(Map.of(activa, Money.ofMinorUnits(120_50)))
+                .notFound(List.of(inexistente))
+                .build());
+
+        mockMvc.perform(post("/api/v1/accounts/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(activa, inexistente))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balances['" + activa + "']", is(120.50)))
+                .andExpect(jsonPath("$.notFound[0]", is(inexistente.toString())));
+    }
+
+    @Test
+    void getAccount_deberiaRetornarETagDeLaVersion() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        Account cuenta = Account.builder()
+                .id(accountId)
+                .balance(Money.ofMinorUnits(2500_00))
+                .version(3L)
+                .active(true)
+                .build();
+
+        Mockito.when(accountService.getAccount(accountId)).thenReturn(cuenta);
+
+        mockMvc.perform(get("/api/v1/accounts/{id}", accountId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+        Mockito.verify(accountService, Mockito.never()).getAccountTag(accountId);
+    }
+
+    @Test
+    void getAccount_conIfNoneMatchVigente_deberiaRetornar304SinCargarLaCuenta() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        Mockito.when(accountService.getAccountTag(accountId)).thenReturn("3");
+
+        mockMvc.perform(get("/api/v1/accounts/{id}", accountId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+        Mockito.verify(accountService, Mockito.never()).getAccount(accountId);
+    }
+
+    @Test
+    void getAccount_conIfNoneMatchAntiguo_deberiaRetornarLaCuenta() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        Account cuenta = Account.builder()
+                .id(accountId)
+                .balance(Money.ofMinorUnits(2500_00))
+                .version(4L)
+                .active(true)
+                .build();
+
+        Mockito.when(accountService.getAccountTag(accountId)).thenReturn("4");
+        Mockito.when(accountService.getAccount(accountId)).thenReturn(cuenta);
+
+        mockMvc.perform(get("/api/v1/accounts/{id}", accountId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id", is(accountId.toString())));
+    }
+
+    @Test
+    void getBalance_conIfNoneMatchVigente_deberiaRetornar304() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        Mockito.when(accountService.getAccountTag(accountId)).thenReturn("3");
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(accountService, Mockito.never()).getBalance(accountId);
+    }
+
+    @Test
+    void deposit_deberiaRetornarCuentaConBalanceActualizado() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        Account cuenta = Account.builder()
+                .id(accountId)
+                .accountNumber("9876543210")
+                .balance(Money.ofMinorUnits(150_00))
+                .active(true)
+                .version(3L)
+                .build();
+
+        Mockito.when(accountBalanceService.deposit(accountId, new BigDecimal("50.00"))).thenReturn(cuenta);
+
+        mockMvc.perform(post("/api/v1/accounts/{id}/deposit", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BalanceMutationRequest(new BigDecimal("50.00")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(150.00)))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    void withdraw_deberiaRetornar409CuandoNoHayFondos() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        Mockito.when(accountBalanceService.withdraw(accountId, BigDecimal.TEN))
+                .thenThrow(new IllegalArgumentException("Insufficient funds"));
+
+        mockMvc.perform(post("/api/v1/accounts/{id}/withdraw", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BalanceMutationRequest(BigDecimal.TEN))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", is("Insufficient funds")));
+    }
+
+    @Test
+    void withdraw_deberiaRechazarMontoNoPositivo() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/{id}/withdraw", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BalanceMutationRequest(BigDecimal.ZERO))))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(accountBalanceService);
+    }
+
+    @Test
+    void depositYTransfer_deberiaRechazarMontosConMasDeDosDecimales() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/{id}/deposit", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":0.001}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/accounts/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.005")))))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(accountBalanceService);
+    }
+
+    @Test
+    void transfer_deberiaRetornarTransferenciaEjecutada() throws Exception {
+        UUID origen = UUID.randomUUID();
+        UUID destino = UUID.randomUUID();
+        TransferResult resultado = TransferResult.builder()
+                .sourceAccountId(origen)
+                .targetAccountId(destino)
+                .amount(BigDecimal.TEN)
+                .executedAt(LocalDateTime.now())
+                .build();
+
+        Mockito.when(accountBalanceService.transfer(origen, destino, BigDecimal.TEN)).thenReturn(resultado);
+
+        mockMvc.perform(post("/api/v1/accounts/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(origen, destino, BigDecimal.TEN))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sourceAccountId", is(origen.toString())))
+                .andExpect(jsonPath("$.amount", is(10)));
+    }
+
+    @Test
+    void transfer_deberiaRechazarSolicitudIncompleta() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(UUID.randomUUID(), null, BigDecimal.TEN))))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(accountBalanceService);
+    }
+
+    @Test
+    void getAccountsByCustomer_deberiaRetornarPaginaConCursor() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        Account ahorro = Account.builder().id(UUID.randomUUID()).accountType("savings").customerId(customerId).build();
+        Account corriente = Account.builder().id(UUID.randomUUID()).accountType("checking").customerId(customerId).build();
+
+        Mockito.when(accountService.getAccountsByCustomer(customerId, null, 2))
+                .thenReturn(new AccountPage(List.of(ahorro, corriente), "cursor"));
+
+        mockMvc.perform(get("/api/v1/accounts").param("customerId", customerId.toString()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(2)))
+                .andExpect(jsonPath("$.accounts[1].accountType", is("checking")))
+                .andExpect(jsonPath("$.nextCursor", is("cursor")));
+    }
+
+    @Test
+    void exportAccounts_deberiaTransmitirCsvConFiltros() throws Exception {
+        Mockito.when(accountExportService.export(Mockito.any(), Mockito.eq(AccountExportService.Format.CSV),
+                        Mockito.any(AccountExportService.Output.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(2, AccountExportService.Output.class).open().write("id\n".getBytes());
+                    return 0L;
+                });
+
+        mockMvc.perform(get("/api/v1/accounts/export")
+                        .param("format", "csv")
+                        .param("accountType", "savings")
+                        .param("createdFrom", "2025-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(content().string("id\n"));
+
+        Mockito.verify(accountExportService).export(
+                Mockito.argThat(filter -> "savings".equals(filter.getAccountType())
+                        && filter.getCreatedFrom().equals(LocalDateTime.of(2025, 1, 1, 0, 0))
+                        && filter.getActive() == null),
+                Mockito.eq(AccountExportService.Format.CSV), Mockito.any(AccountExportService.Output.class));
+    }
+
+    @Test
+    void exportAccounts_deberiaRetornar503CuandoHayDemasiadasExportaciones() throws Exception {
+        Mockito.when(accountExportService.export(Mockito.any(), Mockito.eq(AccountExportService.Format.CSV),
+                        Mockito.any(AccountExportService.Output.class)))
+                .thenThrow(new TooManyExportsException(2));
+
+        mockMvc.perform(get("/api/v1/accounts/export").param("format", "csv"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(jsonPath("$.status", is(503)));
+    }
+
+    @Test
+    void exportAccounts_deberiaRechazarFormatoDesconocido() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/export").param("format", "xml"))
+                .andExpect(status().isConflict());
+
+        Mockito.verifyNoInteractions(accountExportService);
     }
 }
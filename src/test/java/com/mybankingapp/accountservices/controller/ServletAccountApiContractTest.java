@@ -0,0 +1,12 @@
+package com.mybankingapp.accountservices.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the account API contract against the servlet and JPA application.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ServletAccountApiContractTest extends AccountApiContract {
+}
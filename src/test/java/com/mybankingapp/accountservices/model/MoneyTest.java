@@ -0,0 +1,79 @@
+package com.mybankingapp.accountservices.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_deberiaRedondearMitadHaciaArribaACentimos() {
+        assertThat(Money.of(new BigDecimal("100.005"))).isEqualTo(Money.ofMinorUnits(100_01));
+        assertThat(Money.of(new BigDecimal("-100.005"))).isEqualTo(Money.ofMinorUnits(-100_01));
+        assertThat(Money.of(new BigDecimal("1E+3"))).isEqualTo(Money.ofMinorUnits(1000_00));
+        assertThat(Money.of(BigDecimal.ZERO)).isSameAs(Money.ZERO);
+        assertThat(Money.of(null)).isNull();
+    }
+
+    @Test
+    void of_deberiaRechazarImportesFueraDeLaPrecision() {
+        assertThat(Money.of(new BigDecimal("9999999999999999.994")).minorUnits()).isEqualTo(Money.MAX_MINOR_UNITS);
+
+        assertThatThrownBy(() -> Money.of(new BigDecimal(Money.MAX_DECIMAL_EXCLUSIVE)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("-12345678901234567890.25")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.ofMinorUnits(Money.MAX_MINOR_UNITS).plus(Money.ofMinorUnits(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void aritmetica_deberiaOperarSobreCentimos() {
+        Money saldo = Money.ofMinorUnits(320_10);
+
+        assertThat(saldo.plus(Money.ofMinorUnits(5))).isEqualTo(Money.ofMinorUnits(320_15));
+        assertThat(saldo.minus(saldo)).isSameAs(Money.ZERO);
+        assertThat(saldo.negate().signum()).isEqualTo(-1);
+        assertThat(saldo.compareTo(Money.ofMinorUnits(320_11))).isNegative();
+        assertThat(saldo.toBigDecimal()).isEqualTo(new BigDecimal("320.10"));
+    }
+
+    @Test
+    void toString_deberiaEscribirDosDecimales() {
+        assertThat(Money.ZERO).hasToString("0.00");
+        assertThat(Money.ofMinorUnits(-5)).hasToString("-0.05");
+        assertThat(Money.ofMinorUnits(320_10)).hasToString("320.10");
+        assertThat(Money.ofMinorUnits(-Money.MAX_MINOR_UNITS)).hasToString("-9999999999999999.99");
+    }
+
+    @Test
+    void toStrippedString_deberiaCoincidirConBigDecimalSinCerosFinales() {
+        for (long centimos : new long[]{0, 1, 10, 100, -5, -50, -100, 320_10, 320_15, 1000_00, Money.MAX_MINOR_UNITS}) {
+            Money importe = Money.ofMinorUnits(centimos);
+
+            assertThat(importe.toStrippedString())
+                    .isEqualTo(importe.toBigDecimal().stripTrailingZeros().toPlainString());
+        }
+    }
+
+    @Test
+    void json_deberiaMantenerElFormatoNumericoDeLosSaldos() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Map.of("balance", Money.ofMinorUnits(1000_00))))
+                .isEqualTo("{\"balance\":1000.00}");
+        assertThat(objectMapper.writeValueAsString(Money.ofMinorUnits(-5))).isEqualTo("-0.05");
+
+        assertThat(objectMapper.readValue("1000.005", Money.class)).isEqualTo(Money.ofMinorUnits(1000_01));
+        assertThat(objectMapper.readValue("42", Money.class)).isEqualTo(Money.ofMinorUnits(42_00));
+        assertThat(objectMapper.readValue("\" 42.5 \"", Money.class)).isEqualTo(Money.ofMinorUnits(42_50));
+        assertThatThrownBy(() -> objectMapper.readValue("\"cuarenta\"", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.dto.AccountBalance;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AccountRepositoryTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account guardarCuenta(String accountNumber, BigDecimal balance, boolean active) {
+        return accountRepository.saveAndFlush(Account.builder()
+                .accountNumber(accountNumber)
+                .accountType("savings")
+                .balance(Money.of(balance))
+                .createdAt(LocalDateTime.now())
+                .active(active)
+                .customerId(UUID.randomUUID())
+                .build());
+    }
+
+    @Test
+    void findBalanceByIdAndActiveTrue_deberiaRetornarSoloElBalanceDeCuentasActivas() {
+        Account activa = guardarCuenta("1000000001", new BigDecimal("150.25"), true);
+        Account inactiva = guardarCuenta("1000000002", BigDecimal.TEN, false);
+
+        assertThat(accountRepository.findBalanceByIdAndActiveTrue(activa.getId()))
+                .hasValueSatisfying(balance -> assertThat(balance).isEqualByComparingTo("150.25"));
+        assertThat(accountRepository.findBalanceByIdAndActiveTrue(inactiva.getId())).isEmpty();
+        assertThat(accountRepository.findBalanceByIdAndActiveTrue(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void findBalancesByIdInAndActiveTrue_deberiaRetornarSoloLosBalancesDeCuentasActivas() {
+        Account primera = guardarCuenta("1000000011", new BigDecimal("150.25"), true);
+        Account segunda = guardarCuenta("1000000012", BigDecimal.ONE, true);
+        Account inactiva = guardarCuenta("1000000013", BigDecimal.TEN, false);
+
+        List<AccountBalance> balances = accountRepository.findBalancesByIdInAndActiveTrue(
+                List.of(primera.getId(), segunda.getId(), inactiva.getId(), UUID.randomUUID()));
+
+        assertThat(balances).extracting(AccountBalance::getId).containsExactlyInAnyOrder(primera.getId(), segunda.getId());
+        assertThat(balances).filteredOn(balance -> balance.getId().equals(primera.getId()))
+                .singleElement()
+                .satisfies(balance -> assertThat(balance.getBalance().toBigDecimal()).isEqualByComparingTo("150.25"));
+    }
+
+    @Test
+    void findByCustomerIdAfter_deberiaPaginarPorFechaEIdSinRepetirCuentas() {
+        UUID customerId = UUID.randomUUID();
+        LocalDateTime mismaFecha = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<Account> guardadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            guardadas.add(accountRepository.saveAndFlush(Account.builder()
+                    .accountNumber("20000000" + i + "0")
+                    .accountType(i % 2 == 0 ? "savings" : "checking")
+                    .balance(Money.of(BigDecimal.TEN))
+                    // Three accounts share the creation time, so the id must break the tie.
+                    .createdAt(i < 3 ? mismaFecha : mismaFecha.plusMinutes(i))
+                    .active(true)
+                    .customerId(customerId)
+                    .build()));
+        }
+        guardarCuenta("2999999999", BigDecimal.ONE, true);
+
+        List<UUID> leidas = new ArrayList<>();
+        List<Account> pagina = accountRepository.findByCustomerId(customerId, Limit.of(2));
+        while (!pagina.isEmpty()) {
+            pagina.forEach(cuenta -> leidas.add(cuenta.getId()));
+            Account ultima = pagina.get(pagina.size() - 1);
+            pagina = accountRepository.findByCustomerIdAfter(customerId, ultima.getCreatedAt(), ultima.getId(), Limit.of(2));
+        }
+
+        assertThat(leidas).hasSize(5).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(guardadas.stream().map(Account::getId).toList());
+    }
+}
@@ -0,0 +1,41 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.model.ApiKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ApiKeyRepositoryTest {
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    private void guardarClave(String keyHash, boolean active, LocalDateTime expiresAt) {
+        apiKeyRepository.saveAndFlush(ApiKey.builder()
+                .clientId("client-a")
+                .keyHash(keyHash)
+                .active(active)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Test
+    void findUsable_deberiaExcluirClavesInactivasYExpiradas() {
+        LocalDateTime now = LocalDateTime.now();
+        guardarClave("a".repeat(64), true, null);
+        guardarClave("b".repeat(64), true, now.plusDays(1));
+        guardarClave("c".repeat(64), true, now.minusMinutes(1));
+        guardarClave("d".repeat(64), false, null);
+
+        assertThat(apiKeyRepository.findUsable(now))
+                .extracting(ApiKey::getKeyHash)
+                .containsExactlyInAnyOrder("a".repeat(64), "b".repeat(64));
+    }
+}
@@ -0,0 +1,184 @@
+package com.mybankingapp.accountservices.repository;
+
+import com.mybankingapp.accountservices.model.Money;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema with the migrations on Postgres, checks the entities against it, and runs EXPLAIN on the
+ * SQL of the repository queries that serve requests. Sequential scans are disabled for the transaction, so the
+ * planner only picks one when no index can answer the query. Requires Docker; skipped without it.
+ *
+ * <p>The export stream and the API key listing read whole tables by design and are not checked.</p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"})
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private AccountImportChunkRepository chunkRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        HibernatePropertiesCustomizer recordStatements() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    /**
+     * Gives the planner realistic statistics for the account table, one inactive account in ten;
+     * on empty tables any index looks as good as another. Rolled back with the test.
+     */
+    @BeforeEach
+    void prepararCuentas() {
+        jdbcTemplate.update("""
+                insert into account (id, account_number, account_type, balance, created_at, active, customer_id,
+                                     version, balance_stripes)
+                select gen_random_uuid(), lpad(i::text, 10, '0'), 'savings', 100, now() - i * interval '1 minute',
+                       i % 10 <> 0, gen_random_uuid(), 0, 0
+                from generate_series(1, 5000) i""");
+        jdbcTemplate.execute("analyze account");
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Returns the plan of every statement run since the last call, with sequential scans disabled.
+     * Each statement is prepared and explained with a generic plan, so its parameters need no values.
+     */
+    private List<String> planes() {
+        List<String> statements = new ArrayList<>(STATEMENTS);
+        STATEMENTS.clear();
+        assertThat(statements).isNotEmpty();
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        jdbcTemplate.execute("set local plan_cache_mode = force_generic_plan");
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            StringBuilder numbered = new StringBuilder();
+            int parameters = 0;
+            for (char c : sql.toCharArray()) {
+                numbered.append(c == '?' ? "$" + ++parameters : String.valueOf(c));
+            }
+            jdbcTemplate.execute("prepare plan_consulta as " + numbered);
+            String values = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+            plans.add(sql + "\n" + String.join("\n",
+                    jdbcTemplate.queryForList("explain execute plan_consulta" + values, String.class)));
+            jdbcTemplate.execute("deallocate plan_consulta");
+        }
+        return plans;
+    }
+
+    private void assertSinEscaneoSecuencial() {
+        assertThat(planes()).allSatisfy(plan -> assertThat(plan).doesNotContain("Seq Scan"));
+    }
+
+    @Test
+    void consultasDeCuentaPorId_deberianUsarIndices() {
+        UUID id = UUID.randomUUID();
+        accountRepository.findById(id);
+        accountRepository.findByIdAndActiveTrue(id);
+        accountRepository.findVersionByIdAndActiveTrue(id);
+        accountRepository.findBalancesByIdInAndActiveTrue(List.of(id, UUID.randomUUID(), UUID.randomUUID()));
+        accountRepository.lockByIdAndActiveTrue(id);
+        accountRepository.findBalanceById(id);
+        accountRepository.existsByAccountNumber("1234567890");
+
+        assertSinEscaneoSecuencial();
+    }
+
+    @Test
+    void consultasDeBalance_deberianUsarElIndiceParcialDeCuentasActivas() {
+        UUID id = UUID.randomUUID();
+        accountRepository.findBalanceByIdAndActiveTrue(id);
+        accountRepository.findBalanceStripesByIdAndActiveTrue(id);
+
+        assertThat(planes()).allSatisfy(plan -> assertThat(plan)
+                .doesNotContain("Seq Scan")
+                .contains("idx_account_active_balance"));
+    }
+
+    @Test
+    void consultasDeCuentasPorCliente_deberianUsarElIndiceParcialDeCuentasActivas() {
+        UUID customerId = UUID.randomUUID();
+        accountRepository.findByCustomerId(customerId, Limit.of(20));
+        accountRepository.findByCustomerIdAfter(customerId, LocalDateTime.now(), UUID.randomUUID(), Limit.of(20));
+
+        assertThat(planes()).allSatisfy(plan -> assertThat(plan)
+                .doesNotContain("Seq Scan")
+                .contains("idx_account_customer_active"));
+    }
+
+    @Test
+    void consultasDeFranjasDeBalance_deberianUsarIndices() {
+        UUID accountId = UUID.randomUUID();
+        stripeRepository.findByAccountId(accountId);
+        stripeRepository.lockByAccountId(accountId);
+        stripeRepository.addToBalance(accountId, 0, Money.of(BigDecimal.ONE));
+
+        assertSinEscaneoSecuencial();
+    }
+
+    @Test
+    void consultasDeImportacionEIdempotencia_deberianUsarIndices() {
+        chunkRepository.findStartOffsetsByImportId("cuentas.csv:100:0");
+        idempotencyRecordRepository.findById("cliente:clave");
+        idempotencyRecordRepository.deleteExpired("cliente:clave", LocalDateTime.now());
+        idempotencyRecordRepository.deleteAllExpired(LocalDateTime.now());
+
+        assertSinEscaneoSecuencial();
+    }
+}
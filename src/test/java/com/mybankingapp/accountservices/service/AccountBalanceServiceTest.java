@@ -0,0 +1,296 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.config.CacheConfig;
+import com.mybankingapp.accountservices.dto.TransferResult;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountBalanceStripeRepository;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the balance mutations against H2 without a test-managed transaction, so each mutation
+ * commits on its own and concurrent mutations really conflict.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AccountBalanceService.class, AccountBalanceServiceTest.Config.class})
+class AccountBalanceServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int DEPOSITS_PER_THREAD = 25;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.ACCOUNTS_CACHE, CacheConfig.BALANCES_CACHE);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private Account guardarCuenta(String balance) {
+        return accountRepository.saveAndFlush(Account.builder()
+                .accountNumber(Long.toString(1_000_000_000L + (System.nanoTime() % 8_999_999_999L)).substring(0, 10))
+                .accountType("savings")
+                .balance(Money.of(new BigDecimal(balance)))
+                .createdAt(LocalDateTime.now())
+                .active(true)
+                .customerId(UUID.randomUUID())
+                .build());
+    }
+
+    private BigDecimal balance(UUID id) {
+        return accountRepository.findBalanceByIdAndActiveTrue(id).orElseThrow();
+    }
+
+    @Test
+    void depositYRetiro_deberianActualizarBalanceVersionYCache() {
+        Account cuenta = guardarCuenta("100.00");
+        cacheManager.getCache(CacheConfig.BALANCES_CACHE).put(cuenta.getId(), Money.ofMinorUnits(100_00));
+
+        Account trasDeposito = accountBalanceService.deposit(cuenta.getId(), new BigDecimal("25.50"));
+        Account trasRetiro = accountBalanceService.withdraw(cuenta.getId(), new BigDecimal("5.50"));
+
+        assertThat(trasDeposito.getBalance().toBigDecimal()).isEqualByComparingTo("125.50");
+        assertThat(trasRetiro.getBalance().toBigDecimal()).isEqualByComparingTo("120.00");
+        assertThat(trasRetiro.getVersion()).isEqualTo(cuenta.getVersion() + 2);
+        assertThat(balance(cuenta.getId())).isEqualByComparingTo("120.00");
+        assertThat(cacheManager.getCache(CacheConfig.BALANCES_CACHE).get(cuenta.getId())).isNull();
+    }
+
+    @Test
+    void withdraw_deberiaRechazarSobregiroSinModificarBalance() {
+        Account cuenta = guardarCuenta("10.00");
+
+        assertThatThrownBy(() -> accountBalanceService.withdraw(cuenta.getId(), new BigDecimal("10.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+
+        assertThat(balance(cuenta.getId())).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void movimientos_deberiaRechazarMontosQueSeRedondeanACero() {
+        Account origen = guardarCuenta("10.00");
+        Account destino = guardarCuenta("0.00");
+
+        assertThatThrownBy(() -> accountBalanceService.deposit(origen.getId(), new BigDecimal("0.001")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Amount must be at least 0.01");
+        assertThatThrownBy(() -> accountBalanceService.withdraw(origen.getId(), new BigDecimal("0.004")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountBalanceService.transfer(origen.getId(), destino.getId(), new BigDecimal("-5")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(balance(origen.getId())).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void depositYRetiro_deberianAplicarElMontoRedondeado() {
+        Account cuenta = guardarCuenta("10.00");
+
+        assertThat(accountBalanceService.deposit(cuenta.getId(), new BigDecimal("0.005")).getBalance())
+                .isEqualTo(Money.ofMinorUnits(10_01));
+        assertThat(accountBalanceService.withdraw(cuenta.getId(), new BigDecimal("0.005")).getBalance())
+                .isEqualTo(Money.ofMinorUnits(10_00));
+    }
+
+    @Test
+    void deposit_deberiaFallarParaCuentaInexistente() {
+        assertThatThrownBy(() -> accountBalanceService.deposit(UUID.randomUUID(), BigDecimal.ONE))
+                .hasMessage("Account not found");
+    }
+
+    @Test
+    void depositosConcurrentes_deberianReintentarseSinPerderActualizaciones() throws Exception {
+        Account cuenta = guardarCuenta("0.00");
+
+        // Attempts exhausted on a single hot row surface as a conflict; every accepted deposit must be kept.
+        int aplicados = runConcurrently(() -> accountBalanceService.deposit(cuenta.getId(), BigDecimal.ONE));
+
+        assertThat(aplicados).isPositive();
+        assertThat(balance(cuenta.getId())).isEqualByComparingTo(Integer.toString(aplicados));
+    }
+
+    @Test
+    void cuentaConFranjas_deberiaRepartirDepositosYAgregarlosEnLecturasYRetiros() throws Exception {
+        Account cuenta = guardarCuenta("10.00");
+
+        Account conFranjas = accountBalanceService.enableBalanceStripes(cuenta.getId(), 4);
+        int depositos = runConcurrently(() -> accountBalanceService.deposit(cuenta.getId(), BigDecimal.ONE));
+
+        // Credits to stripes never touch the versioned account row, so none of them conflicts.
+        assertThat(depositos).isEqualTo(THREADS * DEPOSITS_PER_THREAD);
+        assertThat(conFranjas.getBalanceStripes()).isEqualTo(4);
+        assertThat(stripeRepository.findByAccountId(cuenta.getId())).hasSize(4);
+        assertThat(accountRepository.findById(cuenta.getId()).orElseThrow().getBalance().toBigDecimal()).isEqualByComparingTo("10.00");
+        assertThat(balance(cuenta.getId())).isEqualByComparingTo(Integer.toString(10 + depositos));
+
+        Account trasRetiro = accountBalanceService.withdraw(cuenta.getId(), new BigDecimal("15.00"));
+
+        assertThat(trasRetiro.getBalance().toBigDecimal()).isEqualByComparingTo(Integer.toString(depositos - 5));
+        assertThat(stripeRepository.findByAccountId(cuenta.getId()))
+                .allSatisfy(stripe -> assertThat(stripe.getBalance()).isEqualTo(Money.ZERO));
+        assertThatThrownBy(() -> accountBalanceService.withdraw(cuenta.getId(), new BigDecimal(depositos)))
+                .hasMessage("Insufficient funds");
+    }
+
+    @Test
+    void enableBalanceStripes_deberiaValidarNumeroDeFranjas() {
+        Account cuenta = guardarCuenta("10.00");
+        accountBalanceService.enableBalanceStripes(cuenta.getId(), 4);
+
+        assertThatThrownBy(() -> accountBalanceService.enableBalanceStripes(cuenta.getId(), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountBalanceService.enableBalanceStripes(cuenta.getId(), 65))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(accountBalanceService.enableBalanceStripes(cuenta.getId(), 8).getBalanceStripes()).isEqualTo(8);
+    }
+
+    @Test
+    void transfer_deberiaMoverFondosEntreCuentas() {
+        Account origen = guardarCuenta("100.00");
+        Account destino = guardarCuenta("5.00");
+        cacheManager.getCache(CacheConfig.BALANCES_CACHE).put(destino.getId(), new BigDecimal("5.00"));
+
+        TransferResult resultado = accountBalanceService.transfer(origen.getId(), destino.getId(), new BigDecimal("40.25"));
+
+        assertThat(resultado.getAmount()).isEqualByComparingTo("40.25");
+
+        TransferResult redondeada = accountBalanceService.transfer(origen.getId(), destino.getId(), new BigDecimal("0.015"));
+
+        assertThat(redondeada.getAmount()).isEqualTo(new BigDecimal("0.02"));
+        assertThat(resultado.getExecutedAt()).isNotNull();
+        assertThat(balance(origen.getId())).isEqualByComparingTo("59.73");
+        assertThat(balance(destino.getId())).isEqualByComparingTo("45.27");
+        assertThat(cacheManager.getCache(CacheConfig.BALANCES_CACHE).get(destino.getId())).isNull();
+    }
+
+    @Test
+    void transfer_deberiaRechazarSobregiroYMismaCuenta() {
+        Account origen = guardarCuenta("10.00");
+        Account destino = guardarCuenta("0.00");
+
+        assertThatThrownBy(() -> accountBalanceService.transfer(origen.getId(), destino.getId(), new BigDecimal("10.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+        assertThatThrownBy(() -> accountBalanceService.transfer(origen.getId(), origen.getId(), BigDecimal.ONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountBalanceService.transfer(origen.getId(), UUID.randomUUID(), BigDecimal.ONE))
+                .hasMessage("Account not found");
+
+        assertThat(balance(origen.getId())).isEqualByComparingTo("10.00");
+        assertThat(balance(destino.getId())).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void transferenciasConcurrentesAleatorias_deberianConservarBalanceTotal() throws Exception {
+        List<UUID> cuentas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            cuentas.add(guardarCuenta("100.00").getId());
+        }
+        accountBalanceService.enableBalanceStripes(cuentas.get(0), 4);
+
+        // Opposite transfers between the same pair of accounts run concurrently; none of them may deadlock.
+        int completadas = runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            UUID origen = cuentas.get(random.nextInt(cuentas.size()));
+            UUID destino = cuentas.get(random.nextInt(cuentas.size()));
+            while (destino.equals(origen)) {
+                destino = cuentas.get(random.nextInt(cuentas.size()));
+            }
+            try {
+                accountBalanceService.transfer(origen, destino, BigDecimal.valueOf(random.nextInt(1, 60)));
+            } catch (IllegalArgumentException ex) {
+                // Overdraft rejected; nothing was moved.
+            }
+            return null;
+        });
+
+        assertThat(completadas).isEqualTo(THREADS * DEPOSITS_PER_THREAD);
+        BigDecimal total = BigDecimal.ZERO;
+        for (UUID id : cuentas) {
+            assertThat(balance(id)).isNotNegative();
+            total = total.add(balance(id));
+        }
+        assertThat(total).isEqualByComparingTo("500.00");
+    }
+
+    /**
+     * Runs the operation {@link #DEPOSITS_PER_THREAD} times on each of {@link #THREADS} threads.
+     *
+     * @return the number of operations that succeeded
+     */
+    private int runConcurrently(Callable<?> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    int succeeded = 0;
+                    for (int i = 0; i < DEPOSITS_PER_THREAD; i++) {
+                        try {
+                            operation.call();
+                            succeeded++;
+                        } catch (OptimisticLockingFailureException ex) {
+                            // Retries exhausted; the deposit was rejected as a whole.
+                        }
+                    }
+                    return succeeded;
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Integer> future : futures) {
+                succeeded += future.get();
+            }
+            return succeeded;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.BatchAccountResult;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AccountBatchServiceTest {
+
+    private AccountRepository accountRepository;
+    private AccountBatchService accountBatchService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        AccountService accountService = new AccountService(accountRepository, new RandomAccountNumberAllocator(accountRepository, new SimpleMeterRegistry()),
+                new NoOpCacheManager(),
+                new AccountLoader(accountRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                        Duration.ofMillis(2), 100));
+        accountBatchService = new AccountBatchService(
+                accountService,
+                accountRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                mock(EntityManager.class));
+
+        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+    }
+
+    private static AccountCreationRequest request(String type) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType(type);
+        request.setInitialDeposit(BigDecimal.valueOf(100));
+        request.setCustomerId(UUID.randomUUID());
+        return request;
+    }
+
+    @Test
+    void createAccounts_deberiaMarcarElementosInvalidosSinGuardarlos() {
+        when(accountRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BatchAccountResult> results = accountBatchService.createAccounts(
+                List.of(request("savings"), request(null)));
+
+        assertThat(results).extracting(BatchAccountResult::getStatus)
+                .containsExactly(BatchAccountResult.Status.CREATED, BatchAccountResult.Status.INVALID);
+        assertThat(results.get(0).getAccount().getAccountType()).isEqualTo("savings");
+        assertThat(results.get(1).getErrors()).containsExactly("accountType: must not be null");
+        verify(accountRepository, times(1)).saveAll(argThat(accounts -> ((List<?>) accounts).size() == 1));
+    }
+
+    @Test
+    void createAccounts_deberiaReintentarUnoAUnoCuandoFallaElLote() {
+        AccountCreationRequest mala = request("checking");
+        List<Account> guardadas = new ArrayList<>();
+        when(accountRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Account> accounts = invocation.getArgument(0);
+            if (accounts.stream().anyMatch(account -> account.getCustomerId().equals(mala.getCustomerId()))) {
+                throw new DataIntegrityViolationException("duplicate customer");
+            }
+            guardadas.addAll(accounts);
+            return accounts;
+        });
+
+        List<BatchAccountResult> results = accountBatchService.createAccounts(
+                List.of(request("savings"), mala, request("savings")));
+
+        assertThat(results).extracting(BatchAccountResult::getStatus)
+                .containsExactly(BatchAccountResult.Status.CREATED, BatchAccountResult.Status.FAILED,
+                        BatchAccountResult.Status.CREATED);
+        assertThat(results.get(1).getErrors()).containsExactly("duplicate customer");
+        assertThat(guardadas).hasSize(2);
+    }
+
+    @Test
+    void createAccounts_deberiaRechazarLoteVacio() {
+        assertThatThrownBy(() -> accountBatchService.createAccounts(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
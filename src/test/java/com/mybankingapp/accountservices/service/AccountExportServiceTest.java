@@ -0,0 +1,175 @@
+package com.mybankingapp.accountservices.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybankingapp.accountservices.dto.AccountExportFilter;
+import com.mybankingapp.accountservices.exception.TooManyExportsException;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.AccountBalanceStripe;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountBalanceStripeRepository;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports accounts from H2 through the streaming repository query, outside any test-managed transaction.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"account.export.fetch-size=2", "account.export.max-concurrent=1"})
+@Import({AccountExportService.class, AccountExportServiceTest.Config.class})
+class AccountExportServiceTest {
+
+    @Autowired
+    private AccountExportService accountExportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+    }
+
+    private Account guardarCuenta(String accountType, boolean active, LocalDateTime createdAt) {
+        return accountRepository.saveAndFlush(Account.builder()
+                .accountNumber(Long.toString(1_000_000_000L + (System.nanoTime() % 8_999_999_999L)).substring(0, 10))
+                .accountType(accountType)
+                .balance(Money.ofMinorUnits(12_50))
+                .createdAt(createdAt)
+                .active(active)
+                .customerId(UUID.randomUUID())
+                .build());
+    }
+
+    @Test
+    void export_deberiaEscribirUnaLineaNdjsonPorCuentaFiltrada() throws Exception {
+        String tipo = "export-" + UUID.randomUUID();
+        LocalDateTime desde = LocalDateTime.of(2024, 6, 1, 0, 0);
+        List<UUID> esperadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            esperadas.add(guardarCuenta(tipo, true, desde.plusDays(i)).getId());
+        }
+        guardarCuenta(tipo, false, desde.plusDays(1));
+        guardarCuenta(tipo, true, desde.minusDays(1));
+        guardarCuenta("otro", true, desde.plusDays(1));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long escritas = accountExportService.export(AccountExportFilter.builder()
+                .accountType(tipo)
+                .active(true)
+                .createdFrom(desde)
+                .build(), AccountExportService.Format.NDJSON, salida);
+
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(escritas).isEqualTo(5);
+        assertThat(lineas).hasSize(5);
+        List<UUID> leidas = new ArrayList<>();
+        for (String linea : lineas) {
+            JsonNode cuenta = objectMapper.readTree(linea);
+            assertThat(cuenta.get("accountType").asText()).isEqualTo(tipo);
+            leidas.add(UUID.fromString(cuenta.get("id").asText()));
+        }
+        assertThat(leidas).containsExactlyInAnyOrderElementsOf(esperadas);
+    }
+
+    @Test
+    void export_deberiaEscribirCsvConCabeceraYCamposEscapados() throws Exception {
+        String tipo = "ahorro, \"plus\" " + UUID.randomUUID();
+        Account cuenta = guardarCuenta(tipo, true, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        accountExportService.export(AccountExportFilter.builder().accountType(tipo).build(),
+                AccountExportService.Format.CSV, salida);
+
+        assertThat(salida.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,accountNumber,accountType,balance,createdAt,active,customerId\n"
+                        + cuenta.getId() + "," + cuenta.getAccountNumber() + ","
+                        + "\"" + tipo.replace("\"", "\"\"") + "\"" + ",12.50,2024-01-02T03:04:05,true,"
+                        + cuenta.getCustomerId() + "\n");
+    }
+
+    @Test
+    void export_deberiaSumarLasFranjasDeCuentasInactivas() throws Exception {
+        String tipo = "franjas-" + UUID.randomUUID();
+        Account cuenta = guardarCuenta(tipo, false, LocalDateTime.now());
+        cuenta.setBalanceStripes(2);
+        accountRepository.saveAndFlush(cuenta);
+        for (int i = 0; i < 2; i++) {
+            stripeRepository.saveAndFlush(AccountBalanceStripe.builder()
+                    .accountId(cuenta.getId())
+                    .stripe(i)
+                    .balance(Money.ofMinorUnits(1_25))
+                    .build());
+        }
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        accountExportService.export(AccountExportFilter.builder().accountType(tipo).active(false).build(),
+                AccountExportService.Format.NDJSON, salida);
+
+        assertThat(objectMapper.readTree(salida.toString(StandardCharsets.UTF_8)).get("balance").decimalValue())
+                .isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    void export_deberiaRechazarExportacionesSobreElLimite() throws Exception {
+        String tipo = "export-" + UUID.randomUUID();
+        guardarCuenta(tipo, true, LocalDateTime.now());
+        List<RuntimeException> rechazos = new ArrayList<>();
+
+        // With a limit of one, an export started while another one is writing must be rejected.
+        OutputStream anidada = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (rechazos.isEmpty()) {
+                    try {
+                        accountExportService.export(new AccountExportFilter(), AccountExportService.Format.CSV,
+                                OutputStream.nullOutputStream());
+                    } catch (TooManyExportsException ex) {
+                        rechazos.add(ex);
+                    }
+                }
+            }
+        };
+        accountExportService.export(AccountExportFilter.builder().accountType(tipo).build(),
+                AccountExportService.Format.CSV, anidada);
+
+        assertThat(rechazos).hasSize(1);
+        assertThat(rechazos.get(0)).hasMessageContaining("at most 1");
+    }
+}
@@ -0,0 +1,218 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.dto.AccountImportResult;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountImportChunkRepository;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Imports CSV files into H2 with a mapped window smaller than a few lines, so lines regularly
+ * cross window boundaries, and chunks of two rows.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"account.import.window-size=80B", "account.import.chunk-size=2",
+        "account.import.workers=2"})
+@Import({AccountImportJob.class, AccountService.class, AccountLoader.class,
+        AccountImportJobTest.Config.class})
+class AccountImportJobTest {
+
+    @Autowired
+    private AccountImportJob accountImportJob;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountImportChunkRepository chunkRepository;
+
+    private static final AtomicBoolean FALLO_DE_ASIGNACION = new AtomicBoolean();
+
+    @TempDir
+    private Path directory;
+
+    @TestConfiguration
+    static class Config {
+        private final AtomicLong accountNumbers = new AtomicLong(3_000_000_000L);
+
+        @Bean
+        AccountNumberAllocator accountNumberAllocator() {
+            return () -> {
+                if (FALLO_DE_ASIGNACION.get()) {
+                    throw new IllegalStateException("Sin bloques de números de cuenta");
+                }
+                return Long.toString(accountNumbers.incrementAndGet());
+            };
+        }
+
+        @Bean
+        ConcurrentMapCacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+
+    private Path escribirFichero(String nombre, String... lineas) throws IOException {
+        return Files.writeString(directory.resolve(nombre), String.join("\n", lineas), StandardCharsets.UTF_8);
+    }
+
+    private List<Account> cuentasDe(Set<UUID> customerIds) {
+        return accountRepository.findAll().stream().filter(a -> customerIds.contains(a.getCustomerId())).toList();
+    }
+
+    @Test
+    void run_deberiaImportarFilasValidasYRechazarLasInvalidas() throws IOException {
+        UUID cliente1 = UUID.randomUUID();
+        UUID cliente2 = UUID.randomUUID();
+        UUID cliente3 = UUID.randomUUID();
+        Path fichero = escribirFichero("cuentas.csv",
+                AccountImportJob.HEADER + "\r",
+                "savings,100.50," + cliente1 + "\r",
+                "checking,0," + cliente2,
+                "",
+                "savings,abc," + UUID.randomUUID(),
+                "savings,10.00,no-es-un-uuid",
+                "savings,10.00",
+                "checking,-5," + UUID.randomUUID(),
+                "checking,12345678901234567890.25," + UUID.randomUUID(),
+                "checking,12345678901234.567890," + cliente3);
+
+        AccountImportResult resultado = accountImportJob.run(fichero);
+
+        assertThat(resultado.getImportedRows()).isEqualTo(2);
+        assertThat(resultado.getRejectedRows()).isEqualTo(6);
+        assertThat(resultado.getFailedChunks()).isZero();
+        List<Account> cuentas = cuentasDe(Set.of(cliente1, cliente2, cliente3));
+        assertThat(cuentas).extracting(Account::getCustomerId).containsExactlyInAnyOrder(cliente1, cliente3);
+        assertThat(cuentas).allSatisfy(cuenta -> {
+            assertThat(cuenta.isActive()).isTrue();
+            assertThat(cuenta.getAccountNumber()).hasSize(10);
+            assertThat(cuenta.getVersion()).isZero();
+        });
+        assertThat(cuentas).filteredOn(cuenta -> cuenta.getCustomerId().equals(cliente1)).singleElement()
+                .satisfies(cuenta -> assertThat(cuenta.getBalance().toBigDecimal()).isEqualByComparingTo("100.50"));
+        assertThat(cuentas).filteredOn(cuenta -> cuenta.getCustomerId().equals(cliente3)).singleElement()
+                .satisfies(cuenta -> assertThat(cuenta.getBalance()).isEqualTo(Money.ofMinorUnits(1_234_567_890_123_457L)));
+    }
+
+    @Test
+    void run_deberiaOmitirLosBloquesYaImportadosAlRepetirse() throws IOException {
+        String[] lineas = new String[6];
+        lineas[0] = AccountImportJob.HEADER;
+        for (int i = 1; i < lineas.length; i++) {
+            lineas[i] = "savings," + i + ".00," + UUID.randomUUID();
+        }
+        Path fichero = escribirFichero("repetido.csv", lineas);
+
+        AccountImportResult primera = accountImportJob.run(fichero);
+        AccountImportResult segunda = accountImportJob.run(fichero);
+
+        assertThat(primera.getImportedRows()).isEqualTo(5);
+        assertThat(segunda.getImportedRows()).isZero();
+        assertThat(segunda.getSkippedRows()).isEqualTo(5);
+        assertThat(chunkRepository.findAll()).filteredOn(c -> c.getImportId().startsWith("repetido.csv:")).hasSize(3);
+    }
+
+    @Test
+    void run_deberiaContarComoFallidosLosBloquesSinNumerosDeCuenta() throws IOException {
+        Path fichero = escribirFichero("sin-numeros.csv",
+                AccountImportJob.HEADER,
+                "savings,1.00," + UUID.randomUUID(),
+                "savings,2.00," + UUID.randomUUID(),
+                "savings,3.00," + UUID.randomUUID());
+
+        FALLO_DE_ASIGNACION.set(true);
+        AccountImportResult resultado;
+        try {
+            resultado = accountImportJob.run(fichero);
+        } finally {
+            FALLO_DE_ASIGNACION.set(false);
+        }
+
+        assertThat(resultado.getFailedChunks()).isEqualTo(2);
+        assertThat(resultado.getImportedRows()).isZero();
+        assertThat(chunkRepository.findAll()).noneMatch(c -> c.getImportId().startsWith("sin-numeros.csv:"));
+    }
+
+    @Test
+    void run_deberiaRechazarFicherosSinCabecera() throws IOException {
+        Path fichero = escribirFichero("sin-cabecera.csv", "savings,1.00," + UUID.randomUUID());
+
+        assertThatThrownBy(() -> accountImportJob.run(fichero))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(AccountImportJob.HEADER);
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static BigDecimal decimal(String value) {
+        return AccountImportJob.parseDecimal(bytes(value), 0, value.length());
+    }
+
+    @Test
+    void parseDecimal_deberiaConservarLaEscala() {
+        assertThat(decimal("12.50")).isEqualTo(new BigDecimal("12.50"));
+        assertThat(decimal("-0.01")).isEqualTo(new BigDecimal("-0.01"));
+        assertThat(decimal("+7")).isEqualTo(new BigDecimal("7"));
+        assertThat(decimal("5.")).isEqualTo(new BigDecimal("5"));
+        assertThat(decimal("1234567890123456789012.5")).isEqualTo(new BigDecimal("1234567890123456789012.5"));
+        assertThat(decimal("")).isNull();
+        assertThat(decimal("-")).isNull();
+        assertThat(decimal("1.2.3")).isNull();
+        assertThat(decimal("1e5")).isNull();
+    }
+
+    @Test
+    void parseUuid_deberiaAceptarSoloLaFormaCanonica() {
+        UUID uuid = UUID.randomUUID();
+        String texto = uuid.toString();
+
+        assertThat(AccountImportJob.parseUuid(bytes(texto), 0, 36)).isEqualTo(uuid);
+        assertThat(AccountImportJob.parseUuid(bytes(texto.toUpperCase()), 0, 36)).isEqualTo(uuid);
+        assertThat(AccountImportJob.parseUuid(bytes(texto.replace('-', '_')), 0, 36)).isNull();
+        assertThat(AccountImportJob.parseUuid(bytes("x" + texto.substring(1)), 0, 36)).isNull();
+        assertThat(AccountImportJob.parseUuid(bytes(texto), 0, 35)).isNull();
+    }
+}
@@ -0,0 +1,150 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.config.CacheConfig;
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class AccountServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class TestConfig {
+
+        @Bean
+        AccountRepository accountRepository() {
+            return mock(AccountRepository.class);
+        }
+
+        @Bean
+        AccountService accountService(AccountRepository accountRepository, CacheManager cacheManager) {
+            return new AccountService(accountRepository, new RandomAccountNumberAllocator(accountRepository, new SimpleMeterRegistry()),
+                cacheManager,
+                new AccountLoader(accountRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                        Duration.ofMillis(2), 100));
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.ACCOUNTS_CACHE, CacheConfig.BALANCES_CACHE);
+        }
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        reset(accountRepository);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getBalance_deberiaConsultarRepositorioUnaSolaVez() {
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findBalanceByIdAndActiveTrue(accountId)).thenReturn(Optional.of(BigDecimal.TEN));
+
+        assertThat(accountService.getBalance(accountId)).isEqualTo(Money.of(BigDecimal.TEN));
+        assertThat(accountService.getBalance(accountId)).isEqualTo(Money.of(BigDecimal.TEN));
+
+        verify(accountRepository, times(1)).findBalanceByIdAndActiveTrue(accountId);
+    }
+
+    @Test
+    void getAccount_noDeberiaCachearCuentaInexistente() {
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findByIdAndActiveTrue(accountId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> accountService.getAccount(accountId)).hasMessage("Account not found");
+        assertThatThrownBy(() -> accountService.getAccount(accountId)).hasMessage("Account not found");
+
+        verify(accountRepository, times(2)).findByIdAndActiveTrue(accountId);
+    }
+
+    private AccountCreationRequest solicitudDeCreacion() {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType("savings");
+        request.setInitialDeposit(BigDecimal.valueOf(1000));
+        request.setCustomerId(UUID.randomUUID());
+
+        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+        when(accountRepository.save(any(Account.class)))
+                .thenAnswer(invocation -> {
+                    Account acc = invocation.getArgument(0);
+                    acc.setId(UUID.randomUUID());
+                    return acc;
+                });
+        return request;
+    }
+
+    @Test
+    void createAccount_dentroDeTransaccion_deberiaCachearSoloTrasElCommit() {
+        AccountCreationRequest request = solicitudDeCreacion();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Account created = accountService.createAccount(request);
+            assertThat(cacheManager.getCache(CacheConfig.ACCOUNTS_CACHE).get(created.getId())).isNull();
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            assertThat(cacheManager.getCache(CacheConfig.ACCOUNTS_CACHE).get(created.getId(), Account.class)).isSameAs(created);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createAccount_conRollback_noDeberiaDejarCuentaEnCache() {
+        AccountCreationRequest request = solicitudDeCreacion();
+
+        TransactionSynchronizationManager.initSynchronization();
+        Account created;
+        try {
+            created = accountService.createAccount(request);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cacheManager.getCache(CacheConfig.ACCOUNTS_CACHE).get(created.getId())).isNull();
+    }
+
+    @Test
+    void createAccount_deberiaDejarCuentaEnCache() {
+        AccountCreationRequest request = solicitudDeCreacion();
+
+        Account created = accountService.createAccount(request);
+        Account cached = accountService.getAccount(created.getId());
+
+        assertThat(cached).isSameAs(created);
+        verify(accountRepository, never()).findByIdAndActiveTrue(any());
+    }
+}
@@ -1,15 +1,30 @@
 package com.mybankingapp.accountservices.service;
 
+import com.mybankingapp.accountservices.config.CacheConfig;
+import com.mybankingapp.accountservices.dto.AccountBalance;
 import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.dto.AccountPage;
+import com.mybankingapp.accountservices.dto.AccountVersion;
+import com.mybankingapp.accountservices.dto.BalanceLookupResult;
 import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
 import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -19,11 +34,16 @@ class AccountServiceTest {
 
     private AccountRepository accountRepository;
     private AccountService accountService;
+    private ConcurrentMapCacheManager cacheManager;
 
     @BeforeEach
     void setUp() {
         accountRepository = mock(AccountRepository.class);
-        accountService = new AccountService(accountRepository);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.ACCOUNTS_CACHE, CacheConfig.BALANCES_CACHE);
+        accountService = new AccountService(accountRepository, new RandomAccountNumberAllocator(accountRepository, new SimpleMeterRegistry()),
+                cacheManager,
+                new AccountLoader(accountRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                        Duration.ofMillis(2), 100));
     }
 
     @Test
@@ -50,7 +70,7 @@ class AccountServiceTest {
         assertThat(created.getId()).isNotNull();
         assertThat(created.getAccountNumber()).hasSize(10);
         assertThat(created.getAccountType()).isEqualTo("savings");
-        assertThat(created.getBalance()).isEqualTo(BigDecimal.valueOf(1000));
+        assertThat(created.getBalance()).isEqualTo(Money.of(BigDecimal.valueOf(1000)));
         assertThat(created.getCustomerId()).isEqualTo(customerId);
         assertThat(created.isActive()).isTrue();
 
@@ -61,23 +81,19 @@ class AccountServiceTest {
     void getBalance_deberiaRetornarBalanceCuandoCuentaExisteYEsActiva() {
         UUID accountId = UUID.randomUUID();
         BigDecimal balanceEsperado = BigDecimal.valueOf(5000);
-        Account cuenta = Account.builder()
-                .id(accountId)
-                .balance(balanceEsperado)
-                .active(true)
-                .build();
 
-        when(accountRepository.findByIdAndActiveTrue(accountId)).thenReturn(Optional.of(cuenta));
+        when(accountRepository.findBalanceByIdAndActiveTrue(accountId)).thenReturn(Optional.of(balanceEsperado));
 
-        BigDecimal balance = accountService.getBalance(accountId);
+        Money balance = accountService.getBalance(accountId);
 
-        assertThat(balance).isEqualTo(balanceEsperado);
+        assertThat(balance).isEqualTo(Money.of(balanceEsperado));
+        verify(accountRepository, never()).findByIdAndActiveTrue(any());
     }
 
     @Test
     void getBalance_deberiaLanzarExcepcionSiCuentaNoExiste() {
         UUID accountId = UUID.randomUUID();
-        when(accountRepository.findByIdAndActiveTrue(accountId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceByIdAndActiveTrue(accountId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> accountService.getBalance(accountId))
                 .isInstanceOf(RuntimeException.class)
@@ -97,6 +113,25 @@ class AccountServiceTest {
         Account result = accountService.getAccount(accountId);
 
         assertThat(result).isEqualTo(cuenta);
+        verify(accountRepository, never()).findBalanceByIdAndActiveTrue(any());
+    }
+
+    @Test
+    void getAccount_deberiaIncluirFranjasEnElBalanceDeCuentaConFranjas() {
+        UUID accountId = UUID.randomUUID();
+        Account cuenta = Account.builder()
+                .id(accountId)
+                .balance(Money.of(BigDecimal.TEN))
+                .balanceStripes(4)
+                .active(true)
+                .build();
+
+        when(accountRepository.findByIdAndActiveTrue(accountId)).thenReturn(Optional.of(cuenta));
+        when(accountRepository.findBalanceByIdAndActiveTrue(accountId)).thenReturn(Optional.of(BigDecimal.valueOf(75)));
+
+        Account result = accountService.getAccount(accountId);
+
+        assertThat(result.getBalance()).isEqualTo(Money.of(BigDecimal.valueOf(75)));
     }
 
     @Test
@@ -108,4 +143,142 @@ class AccountServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Account not found");
     }
+
+    @Test
+    void getAccountsByCustomer_deberiaDevolverCursorQueApuntaTrasLaUltimaCuenta() {
+        UUID customerId = UUID.randomUUID();
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123_456_000);
+        Account primera = Account.builder().id(UUID.randomUUID()).createdAt(fecha).customerId(customerId).build();
+        Account segunda = Account.builder().id(UUID.randomUUID()).createdAt(fecha.plusSeconds(1)).customerId(customerId).build();
+        Account tercera = Account.builder().id(UUID.randomUUID()).createdAt(fecha.plusSeconds(2)).customerId(customerId).build();
+
+        when(accountRepository.findByCustomerId(customerId, Limit.of(3))).thenReturn(List.of(primera, segunda, tercera));
+        when(accountRepository.findByCustomerIdAfter(customerId, segunda.getCreatedAt(), segunda.getId(), Limit.of(3)))
+                .thenReturn(List.of(tercera));
+
+        AccountPage pagina = accountService.getAccountsByCustomer(customerId, null, 2);
+        AccountPage siguiente = accountService.getAccountsByCustomer(customerId, pagina.getNextCursor(), 2);
+
+        assertThat(pagina.getAccounts()).containsExactly(primera, segunda);
+        assertThat(pagina.getNextCursor()).isNotNull();
+        assertThat(siguiente.getAccounts()).containsExactly(tercera);
+        assertThat(siguiente.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAccountsByCustomer_deberiaLeerLosBalancesDeLasCuentasConFranjasEnUnaConsulta() {
+        UUID customerId = UUID.randomUUID();
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 1, 9, 30);
+        Account conFranjas = Account.builder().id(UUID.randomUUID()).createdAt(fecha).customerId(customerId)
+                .balance(Money.ZERO).balanceStripes(4).build();
+        Account sinFranjas = Account.builder().id(UUID.randomUUID()).createdAt(fecha.plusSeconds(1)).customerId(customerId)
+                .balance(Money.ofMinorUnits(10_00)).build();
+        Account otraConFranjas = Account.builder().id(UUID.randomUUID()).createdAt(fecha.plusSeconds(2)).customerId(customerId)
+                .balance(Money.ZERO).balanceStripes(4).build();
+
+        when(accountRepository.findByCustomerId(customerId, Limit.of(11)))
+                .thenReturn(List.of(conFranjas, sinFranjas, otraConFranjas));
+        when(accountRepository.findBalancesByIdInAndActiveTrue(Set.of(conFranjas.getId(), otraConFranjas.getId())))
+                .thenReturn(List.of(new AccountBalance(conFranjas.getId(), new BigDecimal("75.50")),
+                        new AccountBalance(otraConFranjas.getId(), new BigDecimal("20.00"))));
+
+        AccountPage pagina = accountService.getAccountsByCustomer(customerId, null, 10);
+
+        assertThat(pagina.getAccounts()).extracting(Account::getBalance)
+                .containsExactly(Money.ofMinorUnits(75_50), Money.ofMinorUnits(10_00), Money.ofMinorUnits(20_00));
+        verify(accountRepository, times(1)).findBalancesByIdInAndActiveTrue(any());
+        verify(accountRepository, never()).findBalanceByIdAndActiveTrue(any());
+    }
+
+    @Test
+    void getAccountsByCustomer_deberiaRechazarCursorOLimiteInvalidos() {
+        UUID customerId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> accountService.getAccountsByCustomer(customerId, "no-es-un-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> accountService.getAccountsByCustomer(customerId, null, AccountService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void getAccountTag_deberiaLeerSoloLaVersionSiLaCuentaNoEstaEnCache() {
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findVersionByIdAndActiveTrue(accountId)).thenReturn(Optional.of(new AccountVersion(7L, 0)));
+
+        assertThat(accountService.getAccountTag(accountId)).isEqualTo("7");
+        verify(accountRepository, never()).findByIdAndActiveTrue(any());
+        verify(accountRepository, never()).findBalanceByIdAndActiveTrue(any());
+    }
+
+    @Test
+    void getAccountTag_deberiaIncluirElBalanceDeCuentaConFranjas() {
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findVersionByIdAndActiveTrue(accountId)).thenReturn(Optional.of(new AccountVersion(2L, 4)));
+        when(accountRepository.findBalanceByIdAndActiveTrue(accountId)).thenReturn(Optional.of(new BigDecimal("75.50")));
+
+        assertThat(accountService.getAccountTag(accountId)).isEqualTo("2-75.5");
+    }
+
+    @Test
+    void getAccountTag_deberiaUsarLaCuentaEnCacheSinConsultar() {
+        UUID accountId = UUID.randomUUID();
+        Account cuenta = Account.builder().id(accountId).version(5L).balance(Money.of(BigDecimal.TEN)).active(true).build();
+        cacheManager.getCache(CacheConfig.ACCOUNTS_CACHE).put(accountId, cuenta);
+
+        assertThat(accountService.getAccountTag(accountId)).isEqualTo(AccountService.entityTag(cuenta)).isEqualTo("5");
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void getAccountTag_deberiaLanzarExcepcionSiCuentaNoExiste() {
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findVersionByIdAndActiveTrue(accountId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> accountService.getAccountTag(accountId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Account not found");
+    }
+
+    @Test
+    void getBalances_deberiaConsultarPorBloquesSoloLasCuentasFueraDeCache() {
+        accountService.setBalanceLookupChunkSize(2);
+        UUID enCache = UUID.randomUUID();
+        UUID primera = UUID.randomUUID();
+        UUID segunda = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+        cacheManager.getCache(CacheConfig.BALANCES_CACHE).put(enCache, Money.of(BigDecimal.ONE));
+        when(accountRepository.findBalancesByIdInAndActiveTrue(List.of(primera, segunda)))
+                .thenReturn(List.of(new AccountBalance(segunda, BigDecimal.TEN), new AccountBalance(primera, BigDecimal.TWO)));
+        when(accountRepository.findBalancesByIdInAndActiveTrue(List.of(inexistente))).thenReturn(List.of());
+
+        BalanceLookupResult resultado = accountService.getBalances(List.of(primera, enCache, segunda, primera, inexistente));
+
+        assertThat(resultado.getBalances()).containsExactly(
+                entry(primera, Money.of(BigDecimal.TWO)), entry(enCache, Money.of(BigDecimal.ONE)),
+                entry(segunda, Money.of(BigDecimal.TEN)));
+        assertThat(resultado.getNotFound()).containsExactly(inexistente);
+        verify(accountRepository, times(2)).findBalancesByIdInAndActiveTrue(any());
+        assertThat(cacheManager.getCache(CacheConfig.BALANCES_CACHE).get(primera, Money.class)).isEqualTo(Money.of(BigDecimal.TWO));
+    }
+
+    @Test
+    void setBalanceLookupChunkSize_deberiaRechazarTamanosMenoresQueUno() {
+        assertThatThrownBy(() -> accountService.setBalanceLookupChunkSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountService.setBalanceLookupChunkSize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getBalances_deberiaRechazarListasVaciasDemasiadoGrandesOConNulos() {
+        ReflectionTestUtils.setField(accountService, "balanceLookupMaxSize", 2);
+        List<UUID> conNulo = new ArrayList<>();
+        conNulo.add(null);
+
+        assertThatThrownBy(() -> accountService.getBalances(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountService.getBalances(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountService.getBalances(conNulo)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(accountRepository);
+    }
 }
@@ -0,0 +1,112 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import com.mybankingapp.accountservices.utils.LuhnCheckDigit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BlockAccountNumberAllocatorTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+
+    /**
+     * Simula {@code account_number_seq}: cada nextval avanza la secuencia en el tamaño de bloque.
+     */
+    private AtomicLong secuencia(long primerValor, int blockSize) {
+        AtomicLong sequence = new AtomicLong(primerValor);
+        when(accountRepository.nextAccountNumberBlock()).thenAnswer(invocation -> sequence.getAndAdd(blockSize));
+        return sequence;
+    }
+
+    private BlockAccountNumberAllocator allocator(int blockSize) {
+        return new BlockAccountNumberAllocator(accountRepository, new SimpleMeterRegistry(), blockSize);
+    }
+
+    @Test
+    void nextAccountNumber_deberiaGenerarNumerosDeDiezDigitosConDigitoVerificador() {
+        secuencia(BlockAccountNumberAllocator.FIRST_VALUE, 10);
+        BlockAccountNumberAllocator allocator = allocator(10);
+
+        String number = allocator.nextAccountNumber();
+
+        assertThat(number).hasSize(10).doesNotStartWith("0");
+        assertThat(LuhnCheckDigit.isValid(number)).isTrue();
+    }
+
+    @Test
+    void nextAccountNumber_deberiaReservarUnBloquePorCadaBlockSizeNumeros() {
+        AtomicLong sequence = secuencia(BlockAccountNumberAllocator.FIRST_VALUE, 100);
+        BlockAccountNumberAllocator allocator = allocator(100);
+
+        for (int i = 0; i < 250; i++) {
+            allocator.nextAccountNumber();
+        }
+
+        verify(accountRepository, times(3)).nextAccountNumberBlock();
+        assertThat(sequence.get()).isEqualTo(BlockAccountNumberAllocator.FIRST_VALUE + 300);
+    }
+
+    @Test
+    void nextAccountNumber_deberiaEntregarLosValoresDelBloqueEnOrden() {
+        secuencia(BlockAccountNumberAllocator.FIRST_VALUE, 5);
+        BlockAccountNumberAllocator allocator = allocator(5);
+
+        assertThat(allocator.nextAccountNumber()).isEqualTo(BlockAccountNumberAllocator.format(BlockAccountNumberAllocator.FIRST_VALUE));
+        assertThat(allocator.nextAccountNumber()).isEqualTo(BlockAccountNumberAllocator.format(BlockAccountNumberAllocator.FIRST_VALUE + 1));
+    }
+
+    @Test
+    void nextAccountNumber_deberiaFallarSiSeAgotaElEspacioDeNumeros() {
+        secuencia(BlockAccountNumberAllocator.MAX_VALUE + 1, 5);
+
+        assertThatThrownBy(() -> allocator(5).nextAccountNumber())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("exhausted");
+    }
+
+    @Test
+    void nextAccountNumber_noDeberiaRepetirNumerosEntreInstanciasConcurrentes() throws Exception {
+        secuencia(BlockAccountNumberAllocator.FIRST_VALUE, 7);
+        List<BlockAccountNumberAllocator> instancias = List.of(allocator(7), allocator(7), allocator(7));
+        Set<String> numeros = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < 6; t++) {
+                BlockAccountNumberAllocator allocator = instancias.get(t % instancias.size());
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        assertThat(numeros.add(allocator.nextAccountNumber())).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(numeros).hasSize(3000);
+    }
+
+    @Test
+    void luhnCheckDigit_deberiaDetectarDigitoIncorrecto() {
+        assertThat(LuhnCheckDigit.compute(7992739871L)).isEqualTo(3);
+        assertThat(LuhnCheckDigit.isValid("79927398713")).isTrue();
+        assertThat(LuhnCheckDigit.isValid("79927398710")).isFalse();
+        assertThat(LuhnCheckDigit.isValid("12a")).isFalse();
+    }
+}
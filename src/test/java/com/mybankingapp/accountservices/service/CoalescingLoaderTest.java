@@ -0,0 +1,155 @@
+package com.mybankingapp.accountservices.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the loader from several threads. A first lookup blocked inside the batch loader keeps the loader
+ * busy, so the lookups started meanwhile find other lookups running and wait for their batch to fill.
+ */
+class CoalescingLoaderTest {
+
+    private static final Duration VENTANA_LARGA = Duration.ofSeconds(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<String>> lotes = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    private final CountDownLatch bloqueada = new CountDownLatch(1);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Batch loader recording each batch, returning the upper case of each key except "ausente",
+     * and blocking on the key "bloqueo" until released.
+     */
+    private Map<String, String> cargar(List<String> claves) {
+        lotes.add(List.copyOf(claves));
+        if (claves.contains("bloqueo")) {
+            bloqueada.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Map<String, String> valores = new HashMap<>();
+        claves.stream().filter(clave -> !clave.equals("ausente")).forEach(clave -> valores.put(clave, clave.toUpperCase()));
+        return valores;
+    }
+
+    private CoalescingLoader<String, String> loader(Function<List<String>, Map<String, String>> batchLoader,
+                                                    Duration window, int maxBatchSize) {
+        return new CoalescingLoader<>("prueba", batchLoader, () -> null, window, maxBatchSize, meterRegistry);
+    }
+
+    private Future<String> bloquear(CoalescingLoader<String, String> loader) throws InterruptedException {
+        Future<String> bloqueo = executor.submit(() -> loader.load("bloqueo"));
+        assertThat(bloqueada.await(5, TimeUnit.SECONDS)).isTrue();
+        return bloqueo;
+    }
+
+    @Test
+    void load_deberiaCargarSinEsperarLaVentanaSiNoHayOtrasConsultas() {
+        CoalescingLoader<String, String> loader = loader(this::cargar, VENTANA_LARGA, 100);
+
+        long inicio = System.nanoTime();
+        assertThat(loader.load("a")).isEqualTo("A");
+        assertThat(loader.load("ausente")).isNull();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(5));
+        assertThat(lotes).containsExactly(List.of("a"), List.of("ausente"));
+    }
+
+    @Test
+    void load_deberiaAgruparClavesDistintasEnUnSoloLote() throws Exception {
+        CoalescingLoader<String, String> loader = loader(this::cargar, VENTANA_LARGA, 4);
+        Future<String> bloqueo = bloquear(loader);
+
+        List<Future<String>> consultas = new ArrayList<>();
+        for (String clave : List.of("a", "b", "c", "d")) {
+            consultas.add(executor.submit(() -> loader.load(clave)));
+        }
+
+        List<String> valores = new ArrayList<>();
+        for (Future<String> consulta : consultas) {
+            valores.add(consulta.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(valores).containsExactly("A", "B", "C", "D");
+        assertThat(lotes).hasSize(2);
+        assertThat(lotes.get(1)).containsExactlyInAnyOrder("a", "b", "c", "d");
+        assertThat(meterRegistry.get("account.loader.batch.size").summary().max()).isEqualTo(4);
+
+        liberar.countDown();
+        assertThat(bloqueo.get(5, TimeUnit.SECONDS)).isEqualTo("BLOQUEO");
+    }
+
+    @Test
+    void load_deberiaCompartirLaConsultaDeUnaMismaClave() throws Exception {
+        CoalescingLoader<String, String> loader = loader(this::cargar, VENTANA_LARGA, 100);
+        Future<String> primera = bloquear(loader);
+
+        List<Future<String>> repetidas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            repetidas.add(executor.submit(() -> loader.load("bloqueo")));
+        }
+        while (meterRegistry.get("account.loader.coalesced").counter().count() < 3) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+
+        assertThat(primera.get(5, TimeUnit.SECONDS)).isEqualTo("BLOQUEO");
+        for (Future<String> repetida : repetidas) {
+            assertThat(repetida.get(5, TimeUnit.SECONDS)).isEqualTo("BLOQUEO");
+        }
+        assertThat(lotes).containsExactly(List.of("bloqueo"));
+    }
+
+    @Test
+    void load_deberiaPropagarElErrorATodasLasConsultasDelLote() throws Exception {
+        CoalescingLoader<String, String> loader = loader(claves -> {
+            Map<String, String> valores = cargar(claves);
+            if (claves.size() > 1) {
+                throw new IllegalStateException("base de datos no disponible");
+            }
+            return valores;
+        }, VENTANA_LARGA, 2);
+        Future<String> bloqueo = bloquear(loader);
+
+        Future<String> a = executor.submit(() -> loader.load("a"));
+        Future<String> b = executor.submit(() -> loader.load("b"));
+
+        for (Future<String> consulta : List.of(a, b)) {
+            assertThatThrownBy(() -> consulta.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        liberar.countDown();
+        assertThat(bloqueo.get(5, TimeUnit.SECONDS)).isEqualTo("BLOQUEO");
+        assertThat(loader.load("a")).isEqualTo("A");
+    }
+}
@@ -0,0 +1,229 @@
+package com.mybankingapp.accountservices.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mybankingapp.accountservices.dto.AccountCreationRequest;
+import com.mybankingapp.accountservices.exception.IdempotencyKeyInProgressException;
+import com.mybankingapp.accountservices.model.Account;
+import com.mybankingapp.accountservices.model.Money;
+import com.mybankingapp.accountservices.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs idempotent requests against H2, outside any test-managed transaction. A second service instance
+ * sharing the table stands for another instance of the application, or this one after a restart.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({IdempotencyService.class, IdempotencyServiceTest.Config.class})
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return Jackson2ObjectMapperBuilder.json().build();
+        }
+    }
+
+    private static AccountCreationRequest solicitud(String deposito) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountType("savings");
+        request.setInitialDeposit(new BigDecimal(deposito));
+        request.setCustomerId(UUID.fromString("6b1f8a0e-3a6e-4c55-9d43-1f6f2f0c9a10"));
+        return request;
+    }
+
+    private Supplier<Account> crearCuenta(AccountCreationRequest request) {
+        return () -> {
+            ejecuciones.incrementAndGet();
+            return Account.builder()
+                    .id(UUID.randomUUID())
+                    .accountNumber("1234567890")
+                    .accountType(request.getAccountType())
+                    .balance(Money.of(request.getInitialDeposit()))
+                    .createdAt(LocalDateTime.now())
+                    .active(true)
+                    .customerId(request.getCustomerId())
+                    .build();
+        };
+    }
+
+    private IdempotencyService otraInstancia() {
+        return new IdempotencyService(repository, transactionManager, objectMapper,
+                Duration.ofHours(1), Duration.ofMinutes(1), 100);
+    }
+
+    private void reclamar(String scopedKey, LocalDateTime expiresAt) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.insertClaim(scopedKey, "0".repeat(64), LocalDateTime.now(), expiresAt));
+    }
+
+    @Test
+    void execute_deberiaResponderLosReintentosConLaPrimeraRespuesta() {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+
+        IdempotencyService.Outcome<Account> primera =
+                idempotencyService.execute("cliente", clave, request, Account.class, crearCuenta(request));
+        IdempotencyService.Outcome<Account> reintento =
+                idempotencyService.execute("cliente", clave, request, Account.class, crearCuenta(request));
+        IdempotencyService.Outcome<Account> trasReinicio =
+                otraInstancia().execute("cliente", clave, request, Account.class, crearCuenta(request));
+
+        assertThat(ejecuciones).hasValue(1);
+        assertThat(primera.replayed()).isFalse();
+        assertThat(reintento.replayed()).isTrue();
+        assertThat(trasReinicio.replayed()).isTrue();
+        assertThat(reintento.response().getId()).isEqualTo(primera.response().getId());
+        assertThat(trasReinicio.response()).isEqualTo(primera.response());
+    }
+
+    @Test
+    void execute_deberiaSepararLasClavesDeCadaCliente() {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+
+        idempotencyService.execute("cliente-a", clave, request, Account.class, crearCuenta(request));
+        idempotencyService.execute("cliente-b", clave, request, Account.class, crearCuenta(request));
+
+        assertThat(ejecuciones).hasValue(2);
+    }
+
+    @Test
+    void execute_deberiaRechazarUnaClaveReutilizadaConOtraSolicitud() {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+        idempotencyService.execute("cliente", clave, request, Account.class, crearCuenta(request));
+
+        AccountCreationRequest distinta = solicitud("200.00");
+        assertThatThrownBy(() -> idempotencyService.execute("cliente", clave, distinta, Account.class, crearCuenta(distinta)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ejecuciones).hasValue(1);
+    }
+
+    @Test
+    void execute_deberiaEjecutarUnaSolaVezLasSolicitudesConcurrentes() throws Exception {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<Account> lenta = () -> {
+            enCurso.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return crearCuenta(request).get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<IdempotencyService.Outcome<Account>> primera =
+                    executor.submit(() -> idempotencyService.execute("cliente", clave, request, Account.class, lenta));
+            assertThat(enCurso.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<IdempotencyService.Outcome<Account>> segunda =
+                    executor.submit(() -> idempotencyService.execute("cliente", clave, request, Account.class, lenta));
+            Future<IdempotencyService.Outcome<Account>> tercera =
+                    executor.submit(() -> idempotencyService.execute("cliente", clave, request, Account.class, lenta));
+            liberar.countDown();
+
+            UUID id = primera.get(10, TimeUnit.SECONDS).response().getId();
+            assertThat(segunda.get(10, TimeUnit.SECONDS).response().getId()).isEqualTo(id);
+            assertThat(tercera.get(10, TimeUnit.SECONDS).response().getId()).isEqualTo(id);
+            assertThat(ejecuciones).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_deberiaLiberarLaClaveSiLaSolicitudFalla() {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+
+        assertThatThrownBy(() -> idempotencyService.execute("cliente", clave, request, Account.class, () -> {
+            throw new IllegalStateException("fallo");
+        })).isInstanceOf(IllegalStateException.class);
+        IdempotencyService.Outcome<Account> reintento =
+                idempotencyService.execute("cliente", clave, request, Account.class, crearCuenta(request));
+
+        assertThat(reintento.replayed()).isFalse();
+        assertThat(ejecuciones).hasValue(1);
+    }
+
+    @Test
+    void execute_deberiaRechazarUnaClaveEnCursoEnOtraInstancia() {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+        reclamar("cliente:" + clave, LocalDateTime.now().plusMinutes(1));
+
+        assertThatThrownBy(() -> idempotencyService.execute("cliente", clave, request, Account.class, crearCuenta(request)))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        assertThat(ejecuciones).hasValue(0);
+    }
+
+    @Test
+    void purgeExpired_deberiaEliminarLosRegistrosExpirados() {
+        String clave = UUID.randomUUID().toString();
+        reclamar("cliente:" + clave, LocalDateTime.now().minusMinutes(1));
+
+        idempotencyService.purgeExpired();
+
+        assertThat(repository.findById("cliente:" + clave)).isEmpty();
+    }
+
+    @Test
+    void execute_deberiaReclamarUnaClaveExpirada() {
+        String clave = UUID.randomUUID().toString();
+        AccountCreationRequest request = solicitud("100.00");
+        reclamar("cliente:" + clave, LocalDateTime.now().minusMinutes(1));
+
+        IdempotencyService.Outcome<Account> resultado =
+                idempotencyService.execute("cliente", clave, request, Account.class, crearCuenta(request));
+
+        assertThat(resultado.replayed()).isFalse();
+        assertThat(ejecuciones).hasValue(1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.mybankingapp.accountservices.service;
+
+import com.mybankingapp.accountservices.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RandomAccountNumberAllocatorTest {
+
+    @Test
+    void nextAccountNumber_deberiaContarReintentosPorColision() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RandomAccountNumberAllocator allocator = new RandomAccountNumberAllocator(accountRepository, meterRegistry);
+
+        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(true, true, false);
+
+        String number = allocator.nextAccountNumber();
+
+        assertThat(number).hasSize(10).startsWith("0");
+        assertThat(meterRegistry.counter("account.number.retries", "allocator", "random").count()).isEqualTo(2);
+        verify(accountRepository, times(3)).existsByAccountNumber(anyString());
+    }
+}
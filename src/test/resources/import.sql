@@ -0,0 +1,2 @@
+-- Hibernate runs this script after generating the H2 schema; sequences are not mapped by any entity.
+create sequence if not exists account_number_seq start with 100000000 increment by 1000 minvalue 100000000 no cycle;